@@ -0,0 +1,81 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.domain.Picture;
+import com.ssafy.puzzlepop.engine.domain.PuzzleBoard;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+//벤치마크용 퍼즐 판 만들기
+public final class Boards {
+    private Boards() {
+    }
+
+    //조각 수 -> 가로 x 세로
+    static Picture picture(int pieces) {
+        int width;
+        int length;
+        switch (pieces) {
+            case 100:
+                width = 10;
+                length = 10;
+                break;
+            case 500:
+                width = 25;
+                length = 20;
+                break;
+            case 1000:
+                width = 40;
+                length = 25;
+                break;
+            case 2500:
+                width = 50;
+                length = 50;
+                break;
+            default:
+                width = (int) Math.ceil(Math.sqrt(pieces));
+                length = (pieces + width - 1) / width;
+        }
+
+        Picture p = new Picture();
+        p.setWidth(1000);
+        p.setLength(750);
+        p.setPieceSize(40);
+        p.setWidthPieceCnt(width);
+        p.setLengthPieceCnt(length);
+        return p;
+    }
+
+    static PuzzleBoard board(int pieces, String gameType) {
+        PuzzleBoard puzzle = new PuzzleBoard();
+        puzzle.init(picture(pieces), gameType);
+        return puzzle;
+    }
+
+    //판을 완성하는 결합 순서 (가로로 한 줄씩 붙이고, 줄끼리 첫 칸으로 연결)
+    public static List<List<Integer>> completion(int width, int length) {
+        List<List<Integer>> moves = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            for (int j = 0; j < width - 1; j++) {
+                int idx = i * width + j;
+                moves.add(new LinkedList<>(List.of(idx, idx + 1)));
+            }
+            if (i > 0) {
+                moves.add(new LinkedList<>(List.of((i - 1) * width, i * width)));
+            }
+        }
+        return moves;
+    }
+
+    //앞에서부터 ratio 만큼 결합된 판
+    static PuzzleBoard partiallySolved(int pieces, double ratio) {
+        PuzzleBoard puzzle = board(pieces, "BATTLE");
+        List<List<Integer>> moves = completion(puzzle.getWidthCnt(), puzzle.getLengthCnt());
+        int count = (int) (moves.size() * ratio);
+        for (int i = 0; i < count; i++) {
+            puzzle.addPiece(moves.get(i));
+        }
+        return puzzle;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.domain.Item;
+import com.ssafy.puzzlepop.engine.domain.ItemType;
+import com.ssafy.puzzlepop.engine.domain.PuzzleBoard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//아이템 효과 (Item.run) 별 비용, 절반쯤 맞춘 판 기준
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemBenchmark {
+    @Param({"HINT", "EARTHQUAKE", "MIRROR", "FRAME", "SHIELD", "MAGNET", "ROCKET", "FIRE"})
+    private ItemType type;
+
+    @Param({"500", "2500"})
+    private int pieces;
+
+    private Item item;
+    private PuzzleBoard puzzle;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        item = new Item(type);
+    }
+
+    //효과가 판을 바꾸므로 매번 새 판
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        puzzle = Boards.partiallySolved(pieces, 0.5);
+    }
+
+    @Benchmark
+    public List<Integer> run() {
+        return item.run(puzzle);
+    }
+}
@@ -0,0 +1,127 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.domain.Picture;
+import com.ssafy.puzzlepop.engine.domain.PuzzleBoard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//퍼즐 판 핵심 연산 : 초기화, 완성까지 결합, 콤보, 뭉탱이 해체 확인
+//초기화는 판을 바꾸지 않으므로 평균 시간,
+//나머지는 판을 바꾸므로 반복(iteration)마다 BATCH 개의 판을 미리 만들어 두고 한 번씩만 쓰는 단발 측정 (점수는 BATCH 번 합계)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PuzzleBoardBenchmark {
+    static final int BATCH = 50;
+
+    @State(Scope.Thread)
+    public static class Shape {
+        @Param({"100", "500", "1000", "2500"})
+        int pieces;
+
+        Picture picture;
+        List<List<Integer>> moves;
+        List<Integer> comboBundle;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            picture = Boards.picture(pieces);
+            moves = Boards.completion(picture.getWidthPieceCnt(), picture.getLengthPieceCnt());
+            //첫 줄 앞쪽 뭉탱이
+            comboBundle = new LinkedList<>(List.of(0, 1, 2));
+        }
+    }
+
+    //새 판 (완성까지 결합용)
+    @State(Scope.Thread)
+    public static class FreshBoards {
+        PuzzleBoard[] boards = new PuzzleBoard[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Shape shape) {
+            for (int i = 0; i < BATCH; i++) {
+                boards[i] = new PuzzleBoard();
+                boards[i].init(shape.picture, "BATTLE");
+            }
+            next = 0;
+        }
+
+        PuzzleBoard next() {
+            return boards[next++];
+        }
+    }
+
+    //절반쯤 맞춘 판 (콤보, 해체 확인용)
+    @State(Scope.Thread)
+    public static class HalfSolvedBoards {
+        PuzzleBoard[] boards = new PuzzleBoard[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Shape shape) {
+            for (int i = 0; i < BATCH; i++) {
+                boards[i] = Boards.partiallySolved(shape.pieces, 0.5);
+                boards[i].addPiece(new LinkedList<>(List.of(0, 1)));
+                boards[i].addPiece(new LinkedList<>(List.of(1, 2)));
+            }
+            next = 0;
+        }
+
+        PuzzleBoard next() {
+            return boards[next++];
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public PuzzleBoard init(Shape shape) {
+        PuzzleBoard puzzle = new PuzzleBoard();
+        puzzle.init(shape.picture, "BATTLE");
+        return puzzle;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(batchSize = BATCH)
+    @Measurement(batchSize = BATCH)
+    public boolean addPieceToCompletion(Shape shape, FreshBoards boards) {
+        PuzzleBoard fresh = boards.next();
+        for (List<Integer> move : shape.moves) {
+            fresh.addPiece(move);
+        }
+        return fresh.isCompleted();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(batchSize = BATCH)
+    @Measurement(batchSize = BATCH)
+    public void combo(Shape shape, HalfSolvedBoards boards, Blackhole bh) {
+        bh.consume(boards.next().combo(shape.comboBundle, 3));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(batchSize = BATCH)
+    @Measurement(batchSize = BATCH)
+    public void searchForGroupDisbandment(HalfSolvedBoards boards, Blackhole bh) {
+        PuzzleBoard halfSolved = boards.next();
+        halfSolved.searchForGroupDisbandment();
+        bh.consume(halfSolved.getBundles());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(batchSize = BATCH)
+    @Measurement(batchSize = BATCH)
+    public void searchForGroupDisbandmentAfterDelete(HalfSolvedBoards boards, Blackhole bh) {
+        //조각 하나 떼고 주변만 다시 확인
+        PuzzleBoard halfSolved = boards.next();
+        bh.consume(halfSolved.deletePiece(1));
+        halfSolved.searchForGroupDisbandment(new LinkedList<>(List.of(1)));
+        bh.consume(halfSolved.getBundles());
+    }
+}
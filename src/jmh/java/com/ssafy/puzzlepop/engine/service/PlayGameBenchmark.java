@@ -0,0 +1,105 @@
+package com.ssafy.puzzlepop.engine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.puzzlepop.engine.Boards;
+import com.ssafy.puzzlepop.engine.domain.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//GameService.playGame 메시지 종류별 처리 비용 (배틀 1:1 방)
+//게임이 끝나도 저장하지 않도록 saved 로 표시해 둠
+//GameService.init 이 package-private 이라 같은 패키지에 둠
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayGameBenchmark {
+    private static final String RED = "red-player";
+    private static final String BLUE = "blue-player";
+    private static final String DROP_ITEM = "drop-item";
+
+    @Param({"ADD_PIECE", "USE_ITEM", "USE_RANDOM_ITEM", "MOUSE_DOWN", "MOUSE_UP", "MOUSE_DRAG"})
+    private String message;
+
+    private GameService gameService;
+    private Game game;
+    private InGameMessage inGameMessage;
+
+    //ADD_PIECE : 판을 완성하는 결합 순서대로 아직 안 맞춘 쌍을 하나씩 보냄, 다 쓰면 새 게임
+    private List<String> moves;
+    private int nextMove;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        gameService = new GameService(null, new GameClock(), new ObjectMapper(), new GameMetrics(new SimpleMeterRegistry()));
+        gameService.init();
+        newGame();
+
+        moves = new ArrayList<>();
+        PuzzleBoard puzzle = game.getRedPuzzle();
+        for (List<Integer> move : Boards.completion(puzzle.getWidthCnt(), puzzle.getLengthCnt())) {
+            moves.add(move.get(0) + "," + move.get(1));
+        }
+
+        inGameMessage = new InGameMessage();
+        inGameMessage.setType(InGameMessage.MessageType.GAME);
+        inGameMessage.setSender(RED);
+        inGameMessage.setMessage(message);
+        inGameMessage.setRoomId(game.getGameId());
+        inGameMessage.setTargets(targets(message));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        if (message.equals("ADD_PIECE")) {
+            if (nextMove == moves.size()) {
+                gameService.deleteRoom(game.getGameId());
+                newGame();
+                inGameMessage.setRoomId(game.getGameId());
+                nextMove = 0;
+            }
+            inGameMessage.setTargets(moves.get(nextMove++));
+        } else if (message.equals("USE_ITEM")) {
+            game.getRedPuzzle().addItem(ItemType.FRAME);
+        } else if (message.equals("USE_RANDOM_ITEM")) {
+            game.getDropRandomItem().put(DROP_ITEM, new DropItem(ItemType.FIRE, DROP_ITEM, 0, 0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gameService.deleteRoom(game.getGameId());
+    }
+
+    @Benchmark
+    public ResponseMessage playGame() throws Exception {
+        return gameService.playGame(inGameMessage);
+    }
+
+    private void newGame() {
+        Room room = new Room();
+        room.setName("benchmark");
+        room.setUserid(RED);
+        room.setRoomSize(2);
+        room.setGameType("BATTLE");
+        game = gameService.createRoom(room);
+        game.enterPlayer(new User(RED, false, "red-session"), "red-session");
+        game.enterPlayer(new User(BLUE, false, "blue-session"), "blue-session");
+        gameService.startGame(game.getGameId());
+        game.setSaved(true);
+    }
+
+    private static String targets(String message) {
+        switch (message) {
+            case "USE_ITEM":
+                return "1";
+            case "USE_RANDOM_ITEM":
+                return DROP_ITEM;
+            default:
+                return "[{\"x\":100.0,\"y\":120.0,\"index\":3},{\"x\":140.0,\"y\":120.0,\"index\":4}]";
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ssafy.puzzlepop.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+//방 토픽으로 오는 메시지(ResponseMessage 또는 Game)에서 부하 테스트에 필요한 필드만 읽음
+//나머지 필드는 파싱하지 않고 건너뜀
+@Getter @Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Broadcast {
+    private String senderId;
+    private String message;
+
+    private String gameId;
+    private boolean started;
+    private TeamInfo redTeam;
+    private TeamInfo blueTeam;
+    private BoardInfo redPuzzle;
+
+    @Getter @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TeamInfo {
+        private List<Object> players;
+    }
+
+    @Getter @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class BoardInfo {
+        private int widthCnt;
+        private int lengthCnt;
+    }
+
+    public boolean isGame() {
+        return gameId != null;
+    }
+
+    public int getPlayerCount() {
+        return size(redTeam) + size(blueTeam);
+    }
+
+    private static int size(TeamInfo team) {
+        return team == null || team.players == null ? 0 : team.players.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ssafy.puzzlepop.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+//지연 시간(마이크로초) 모음, 라운드가 끝난 뒤 정렬해서 백분위 계산
+public class LatencyRecorder {
+    private long[] values = new long[1024];
+    private int size;
+
+    public synchronized void record(long micros) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = micros;
+    }
+
+    public synchronized int count() {
+        return size;
+    }
+
+    public synchronized long[] sorted() {
+        long[] copy = Arrays.copyOf(values, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    public static LatencyRecorder merge(Collection<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            for (long value : recorder.sorted()) {
+                merged.record(value);
+            }
+        }
+        return merged;
+    }
+
+    //정렬된 값에서 p (0 ~ 100) 백분위, 값이 없으면 -1
+    public static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
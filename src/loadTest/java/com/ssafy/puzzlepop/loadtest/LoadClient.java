@@ -0,0 +1,216 @@
+package com.ssafy.puzzlepop.loadtest;
+
+import com.ssafy.puzzlepop.engine.InGameMessage;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+//STOMP 로 접속한 플레이어 한 명
+//step() 이 호출될 때마다 MOUSE_DOWN -> MOUSE_DRAG x N -> MOUSE_UP -> ADD_PIECE -> USE_ITEM 순서로 한 단계씩 보냄
+//보낸 명령은 종류별 대기열에 넣어두고, 내 senderId 로 돌아온 응답과 순서대로 짝지어 지연 시간 기록
+public class LoadClient extends StompSessionHandlerAdapter {
+    private static final int DRAGS_PER_MOVE = 10;
+    private static final int DRAG_STEP = 4;
+
+    private final String roomId;
+    private final String userId;
+    private final RoundStats stats;
+    private final boolean coalescedMoves; //틱 모드면 여러 드래그가 MOVE 하나로 합쳐져서 옴
+    private final Random random = new Random();
+    private final Map<String, ArrayDeque<Long>> pending = new HashMap<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private StompSession session;
+    private volatile int playerCount;
+    private volatile int widthCnt;
+    private volatile int lengthCnt;
+
+    private int phase;
+    private int piece;
+    private int x;
+    private int y;
+
+    public LoadClient(String roomId, String userId, RoundStats stats, boolean coalescedMoves) {
+        this.roomId = roomId;
+        this.userId = userId;
+        this.stats = stats;
+        this.coalescedMoves = coalescedMoves;
+        for (String kind : RoundStats.KINDS) {
+            pending.put(kind, new ArrayDeque<>());
+        }
+    }
+
+    public void connect(WebSocketStompClient stompClient, String url) throws Exception {
+        session = stompClient.connectAsync(url, this).get(10, TimeUnit.SECONDS);
+        session.subscribe("/topic/game/room/" + roomId, this);
+    }
+
+    public void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    public void enter() {
+        send(InGameMessage.MessageType.ENTER, null, null);
+    }
+
+    //방장만 호출, 모두 입장한 게 보일 때까지 GAME_INFO 로 확인 후 시작
+    public void startGame(int players, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (playerCount < players) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException(roomId + " 입장 대기 시간 초과 (" + playerCount + "/" + players + ")");
+            }
+            send(InGameMessage.MessageType.GAME, "GAME_INFO", null);
+            Thread.sleep(200);
+        }
+        send(InGameMessage.MessageType.GAME, "GAME_START", null);
+    }
+
+    public boolean awaitStarted(long timeoutMillis) throws InterruptedException {
+        return started.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    //스케줄러에서 같은 클라이언트는 한 번에 하나씩만 호출됨
+    public void step() {
+        try {
+            if (phase == 0) {
+                piece = random.nextInt(widthCnt * lengthCnt);
+                x = random.nextInt(400);
+                y = random.nextInt(200);
+                command("MOUSE_DOWN", "MOUSE_DOWN", pieceJson());
+            } else if (phase <= DRAGS_PER_MOVE) {
+                x += DRAG_STEP;
+                y += DRAG_STEP / 2;
+                command("MOUSE_DRAG", "MOUSE_DRAG", pieceJson());
+            } else if (phase == DRAGS_PER_MOVE + 1) {
+                command("MOUSE_UP", "MOUSE_UP", pieceJson());
+            } else if (phase == DRAGS_PER_MOVE + 2) {
+                command("ADD_PIECE", "ADD_PIECE", piece + "," + neighbor(piece));
+            } else {
+                command("USE_ITEM", "USE_ITEM", "1");
+                phase = -1;
+            }
+            phase++;
+        } catch (Exception e) {
+            stats.error();
+        }
+    }
+
+    //끝날 때 아직 응답이 안 온 명령 수
+    public synchronized int drainPending() {
+        int count = 0;
+        for (ArrayDeque<Long> queue : pending.values()) {
+            count += queue.size();
+            queue.clear();
+        }
+        return count;
+    }
+
+    @Override
+    public Type getPayloadType(StompHeaders headers) {
+        return Broadcast.class;
+    }
+
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+        long now = System.nanoTime();
+        stats.received();
+
+        Broadcast broadcast = (Broadcast) payload;
+        if (broadcast.isGame()) {
+            playerCount = broadcast.getPlayerCount();
+            if (broadcast.isStarted() && broadcast.getRedPuzzle() != null && started.getCount() > 0) {
+                widthCnt = broadcast.getRedPuzzle().getWidthCnt();
+                lengthCnt = broadcast.getRedPuzzle().getLengthCnt();
+                started.countDown();
+            }
+            return;
+        }
+
+        if (userId.equals(broadcast.getSenderId())) {
+            answered(kindOf(broadcast.getMessage()), now);
+        }
+    }
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+        stats.error();
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        stats.error();
+    }
+
+    private synchronized void answered(String kind, long now) {
+        ArrayDeque<Long> queue = pending.get(kind);
+        if (coalescedMoves && kind.equals("MOUSE_DRAG")) {
+            while (!queue.isEmpty()) {
+                stats.latency(kind, queue.poll(), now);
+            }
+        } else if (!queue.isEmpty()) {
+            stats.latency(kind, queue.poll(), now);
+        }
+    }
+
+    private void command(String kind, String message, String targets) {
+        synchronized (this) {
+            pending.get(kind).add(System.nanoTime());
+        }
+        send(InGameMessage.MessageType.GAME, message, targets);
+        stats.sent();
+    }
+
+    private void send(InGameMessage.MessageType type, String message, String targets) {
+        InGameMessage inGameMessage = new InGameMessage();
+        inGameMessage.setType(type);
+        inGameMessage.setRoomId(roomId);
+        inGameMessage.setSender(userId);
+        inGameMessage.setMember(false);
+        inGameMessage.setMessage(message);
+        inGameMessage.setTargets(targets);
+        session.send("/app/game/message", inGameMessage);
+    }
+
+    //응답 메시지 -> 보낸 명령 종류 (USE_ITEM 은 아이템 이름이나 null 로 옴)
+    private static String kindOf(String message) {
+        if (message == null) {
+            return "USE_ITEM";
+        }
+        switch (message) {
+            case "LOCKED":
+            case "BLOCKED":
+                return "MOUSE_DOWN";
+            case "MOVE":
+                return "MOUSE_DRAG";
+            case "UNLOCKED":
+                return "MOUSE_UP";
+            case "ADD_PIECE":
+                return "ADD_PIECE";
+            default:
+                return "USE_ITEM";
+        }
+    }
+
+    //같은 줄의 옆 조각
+    private int neighbor(int index) {
+        return (index + 1) % widthCnt == 0 ? index - 1 : index + 1;
+    }
+
+    private String pieceJson() {
+        return String.format(Locale.ROOT, "[{\"x\":%d,\"y\":%d,\"index\":%d}]", x, y, piece);
+    }
+}
@@ -0,0 +1,251 @@
+package com.ssafy.puzzlepop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.puzzlepop.PuzzlePopApplication;
+import com.ssafy.puzzlepop.engine.domain.Room;
+import com.ssafy.puzzlepop.engine.service.GameService;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//방 개수별 처리량 부하 테스트 (./gradlew loadTest)
+//H2 메모리 DB 로 서버를 같은 JVM 에 띄우고, 방마다 플레이어 수만큼 STOMP 클라이언트를 /game 에 붙여서
+//입장 -> GAME_START -> MOUSE_DOWN/DRAG/UP -> ADD_PIECE -> USE_ITEM 을 반복
+//방 개수마다 p50/p99 응답 지연, 초당 송수신 메시지 수, 힙/GC 를 출력
+//서버와 클라이언트가 같은 JVM 이라 힙/GC 값에는 클라이언트 몫도 들어 있음 (방 개수 사이의 비교용)
+//
+//옵션 (--key=value)
+//  rooms    : 라운드별 방 개수, 쉼표로 구분 (기본 1,10,50)
+//  players  : 방 하나의 플레이어 수, 짝수 (기본 4)
+//  seconds  : 라운드별 측정 시간 (기본 30)
+//  warmup   : 측정 전 예열 시간 (기본 5)
+//  step-ms  : 플레이어가 메시지를 보내는 간격 (기본 50, 드래그 초당 20회)
+public class LoadTestMain {
+    private static final int MAX_MESSAGE_BYTES = 1024 * 1024;
+    private static final long JOIN_TIMEOUT_MS = 10_000;
+
+    private final Map<String, String> options;
+    private final GameService gameService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final WebSocketStompClient stompClient;
+    private final String baseUrl;
+    private final String socketUrl;
+    private final boolean tickEnabled;
+    private final Random random = new Random();
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> options = parse(args);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PuzzlePopApplication.class)
+                .profiles("loadtest")
+                .run();
+        try {
+            new LoadTestMain(options, context).run();
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private LoadTestMain(Map<String, String> options, ConfigurableApplicationContext context) {
+        this.options = options;
+        this.gameService = context.getBean(GameService.class);
+        this.tickEnabled = context.getEnvironment().getProperty("game.tick.enabled", Boolean.class, true);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://localhost:" + port;
+        this.socketUrl = "ws://localhost:" + port + "/game";
+
+        //방 정보(Game) 메시지가 기본 버퍼(8KB)보다 큼
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_MESSAGE_BYTES);
+        container.setDefaultMaxBinaryMessageBufferSize(MAX_MESSAGE_BYTES);
+        this.stompClient = new WebSocketStompClient(new StandardWebSocketClient(container));
+        this.stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        this.stompClient.setInboundMessageSizeLimit(MAX_MESSAGE_BYTES);
+    }
+
+    private void run() throws Exception {
+        int players = intOption("players", 4);
+        if (players < 2 || players % 2 != 0) {
+            throw new IllegalArgumentException("players 는 2 이상의 짝수 : " + players);
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (String rooms : options.getOrDefault("rooms", "1,10,50").split(",")) {
+            lines.add(runRound(Integer.parseInt(rooms.trim()), players));
+        }
+
+        System.out.println();
+        System.out.println("===== 부하 테스트 결과 (players=" + players + ", tick=" + tickEnabled + ") =====");
+        System.out.println(String.format(Locale.ROOT, "%6s %8s %9s %9s %8s %8s %8s %6s %6s %9s %9s %6s %8s",
+                "rooms", "clients", "sent/s", "recv/s", "p50(ms)", "p99(ms)", "max(ms)", "lost", "errors",
+                "heapMax", "heapLive", "gc", "gc(ms)"));
+        lines.forEach(System.out::println);
+    }
+
+    private String runRound(int roomCount, int players) throws Exception {
+        int seconds = intOption("seconds", 30);
+        int warmup = intOption("warmup", 5);
+        int stepMs = intOption("step-ms", 50);
+
+        System.out.println("----- 방 " + roomCount + "개, 플레이어 " + (roomCount * players) + "명 -----");
+        RoundStats stats = new RoundStats();
+        List<String> roomIds = new ArrayList<>();
+        List<LoadClient> admins = new ArrayList<>();
+        List<LoadClient> clients = new ArrayList<>();
+
+        for (int r = 0; r < roomCount; r++) {
+            String roomId = createRoom("load-" + roomCount + "-" + r, players);
+            roomIds.add(roomId);
+            for (int p = 0; p < players; p++) {
+                LoadClient client = new LoadClient(roomId, "load-" + roomCount + "-" + r + "-" + p, stats, tickEnabled);
+                client.connect(stompClient, socketUrl);
+                clients.add(client);
+                if (p == 0) {
+                    admins.add(client);
+                }
+            }
+        }
+
+        clients.forEach(LoadClient::enter);
+        for (LoadClient admin : admins) {
+            admin.startGame(players, JOIN_TIMEOUT_MS);
+        }
+        for (LoadClient client : clients) {
+            if (!client.awaitStarted(JOIN_TIMEOUT_MS)) {
+                throw new IllegalStateException("게임 시작 대기 시간 초과");
+            }
+        }
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+        for (LoadClient client : clients) {
+            scheduler.scheduleAtFixedRate(client::step, random.nextInt(stepMs), stepMs, TimeUnit.MILLISECONDS);
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmup));
+
+        //측정 구간
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong heapMax = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> heapMax.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+        long[] gcBefore = gcTotals();
+        long startNanos = System.nanoTime();
+        stats.setMeasuring(true);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+
+        stats.setMeasuring(false);
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+        long[] gcAfter = gcTotals();
+        sampler.shutdownNow();
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+
+        //보낸 명령의 응답이 다 돌아올 시간을 주고 남은 건 유실로 처리
+        Thread.sleep(1000);
+        for (LoadClient client : clients) {
+            stats.lost(client.drainPending());
+        }
+
+        //방이 살아 있는 상태의 라이브 힙
+        System.gc();
+        long heapLive = memory.getHeapMemoryUsage().getUsed();
+
+        clients.forEach(LoadClient::disconnect);
+        roomIds.forEach(gameService::deleteRoom);
+
+        long[] all = LatencyRecorder.merge(stats.getLatencies().values()).sorted();
+        for (Map.Entry<String, LatencyRecorder> entry : stats.getLatencies().entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            System.out.println(String.format(Locale.ROOT, "  %-10s count=%-8d p50=%8.2fms p99=%8.2fms",
+                    entry.getKey(), sorted.length, millis(LatencyRecorder.percentile(sorted, 50)), millis(LatencyRecorder.percentile(sorted, 99))));
+        }
+
+        String line = String.format(Locale.ROOT, "%6d %8d %9.0f %9.0f %8.2f %8.2f %8.2f %6d %6d %8dM %8dM %6d %8d",
+                roomCount, clients.size(),
+                stats.getSent() / elapsed, stats.getReceived() / elapsed,
+                millis(LatencyRecorder.percentile(all, 50)), millis(LatencyRecorder.percentile(all, 99)),
+                millis(LatencyRecorder.percentile(all, 100)),
+                stats.getLost(), stats.getErrors(),
+                heapMax.get() / (1024 * 1024), heapLive / (1024 * 1024),
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+        System.out.println(line);
+        return line;
+    }
+
+    //REST 로 배틀 방 생성 후 방 id
+    private String createRoom(String name, int players) throws Exception {
+        Room room = new Room();
+        room.setName(name);
+        room.setUserid(name + "-0");
+        room.setRoomSize(players);
+        room.setGameType("BATTLE");
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/game/room"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(room)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("방 생성 실패 : " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readValue(response.body(), Broadcast.class).getGameId();
+    }
+
+    //전체 GC 횟수, 시간(ms)
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+
+    private static double millis(long micros) {
+        return micros < 0 ? Double.NaN : micros / 1000.0;
+    }
+
+    private int intOption(String key, int defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
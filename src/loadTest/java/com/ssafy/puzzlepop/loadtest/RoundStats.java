@@ -0,0 +1,75 @@
+package com.ssafy.puzzlepop.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+//한 라운드(방 개수 하나) 동안 모든 클라이언트가 같이 쓰는 측정값
+//지연 시간 = 명령을 보낸 시각부터 그 명령의 결과가 방 토픽으로 다시 돌아온 시각까지
+public class RoundStats {
+    public static final String[] KINDS = {"MOUSE_DOWN", "MOUSE_DRAG", "MOUSE_UP", "ADD_PIECE", "USE_ITEM"};
+
+    private final Map<String, LatencyRecorder> latencies = new LinkedHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean measuring;
+
+    public RoundStats() {
+        for (String kind : KINDS) {
+            latencies.put(kind, new LatencyRecorder());
+        }
+    }
+
+    //측정 구간 밖(입장, 시작 대기, 마무리)의 메시지는 세지 않음
+    public void setMeasuring(boolean measuring) {
+        this.measuring = measuring;
+    }
+
+    public void sent() {
+        if (measuring) {
+            sent.incrementAndGet();
+        }
+    }
+
+    public void received() {
+        if (measuring) {
+            received.incrementAndGet();
+        }
+    }
+
+    public void latency(String kind, long sentNanos, long receivedNanos) {
+        if (measuring) {
+            latencies.get(kind).record((receivedNanos - sentNanos) / 1000);
+        }
+    }
+
+    public void lost(int count) {
+        lost.addAndGet(count);
+    }
+
+    public void error() {
+        errors.incrementAndGet();
+    }
+
+    public Map<String, LatencyRecorder> getLatencies() {
+        return latencies;
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getLost() {
+        return lost.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,185 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.domain.Game;
+import com.ssafy.puzzlepop.engine.domain.MoveBuffer;
+import com.ssafy.puzzlepop.engine.domain.PieceDto;
+import com.ssafy.puzzlepop.engine.domain.PuzzleBoard;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+//드래그, 커서용 바이너리 메시지 형식
+//CONNECT 프레임에 wire-format: binary 헤더를 보낸 클라이언트만 사용 (나머지는 기존 JSON 그대로)
+//모든 숫자는 big-endian
+//
+//클라이언트 -> 서버 (/app/game/binary/{roomId})
+//  드래그 : [1] + (조각 인덱스 int16, x float32, y float32) 반복
+//  커서   : [2] + x float32 + y float32
+//
+//서버 -> 클라이언트 (/topic/game/room/{roomId}/binary)
+//  드래그 : [1] + 팀(0 : RED, 1 : BLUE) + (조각 인덱스 int16, x float32, y float32) 반복
+//  커서   : [2] + (유저 슬롯(Game.players 순서) int8, x float32, y float32) 반복
+public final class BinaryWire {
+    public static final String HEADER = "wire-format";
+    public static final String SESSION_ATTRIBUTE = "binaryWire";
+
+    public static final byte DRAG = 1;
+    public static final byte CURSOR = 2;
+
+    private static final int DRAG_ENTRY_SIZE = 10;
+    private static final int CURSOR_ENTRY_SIZE = 9;
+
+    private BinaryWire() {
+    }
+
+    public static boolean isBinary(Map<String, Object> sessionAttributes) {
+        return sessionAttributes != null && Boolean.TRUE.equals(sessionAttributes.get(SESSION_ATTRIBUTE));
+    }
+
+    public static byte team(String color) {
+        return (byte) (color.equals("RED") ? 0 : 1);
+    }
+
+    //길이가 맞고 좌표가 모두 유한한 값인지
+    public static boolean isValidDrag(byte[] payload) {
+        if (payload.length <= 1 || (payload.length - 1) % DRAG_ENTRY_SIZE != 0) {
+            return false;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(payload);
+        for (int pos = 1; pos < payload.length; pos += DRAG_ENTRY_SIZE) {
+            if (!Float.isFinite(buf.getFloat(pos + 2)) || !Float.isFinite(buf.getFloat(pos + 6))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //받은 드래그를 중간 객체 없이 바로 판에 적용
+    //moved 가 있으면 움직인 조각 번호 표시
+    public static void applyDrag(byte[] payload, PuzzleBoard puzzle, BitSet moved) {
+        int pieceCnt = puzzle.getWidthCnt() * puzzle.getLengthCnt();
+        ByteBuffer buf = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        while (buf.remaining() >= DRAG_ENTRY_SIZE) {
+            int idx = buf.getShort();
+            float x = buf.getFloat();
+            float y = buf.getFloat();
+            if (idx >= 0 && idx < pieceCnt) {
+                puzzle.movePiece(idx, x, y);
+                if (moved != null) {
+                    moved.set(idx);
+                }
+            }
+        }
+    }
+
+    //받은 드래그에 팀 정보만 붙여서 그대로 전달
+    public static byte[] relayDrag(byte[] payload, byte team) {
+        byte[] frame = new byte[payload.length + 1];
+        frame[0] = DRAG;
+        frame[1] = team;
+        System.arraycopy(payload, 1, frame, 2, payload.length - 1);
+        return frame;
+    }
+
+    //JSON 으로 들어온 드래그를 바이너리 클라이언트용으로 변환
+    public static byte[] encodeDrag(PieceDto[] pieces, byte team) {
+        ByteBuffer buf = ByteBuffer.allocate(2 + pieces.length * DRAG_ENTRY_SIZE);
+        buf.put(DRAG);
+        buf.put(team);
+        for (PieceDto piece : pieces) {
+            buf.putShort((short) piece.getIndex());
+            buf.putFloat((float) piece.getX());
+            buf.putFloat((float) piece.getY());
+        }
+        return buf.array();
+    }
+
+    //틱에서 모은 조각들의 현재 위치
+    public static byte[] encodeDrag(BitSet pieces, PuzzleBoard puzzle, byte team) {
+        ByteBuffer buf = ByteBuffer.allocate(2 + pieces.cardinality() * DRAG_ENTRY_SIZE);
+        buf.put(DRAG);
+        buf.put(team);
+        for (int idx = pieces.nextSetBit(0); idx >= 0; idx = pieces.nextSetBit(idx + 1)) {
+            buf.putShort((short) idx);
+            buf.putFloat((float) puzzle.getX(idx));
+            buf.putFloat((float) puzzle.getY(idx));
+        }
+        return buf.array();
+    }
+
+    //틱에서 모은 조각들의 현재 위치를 기존 JSON 클라이언트용 targets 문자열로 변환
+    public static String dragToJson(BitSet pieces, PuzzleBoard puzzle) {
+        StringBuilder sb = new StringBuilder(pieces.cardinality() * 40);
+        sb.append('[');
+        for (int idx = pieces.nextSetBit(0); idx >= 0; idx = pieces.nextSetBit(idx + 1)) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"x\":").append(puzzle.getX(idx)).append(",\"y\":").append(puzzle.getY(idx)).append(",\"index\":").append(idx).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    //바이너리로 들어온 드래그를 기존 JSON 클라이언트용 targets 문자열([{"x":..,"y":..,"index":..}])로 변환
+    public static String dragToJson(byte[] payload) {
+        StringBuilder sb = new StringBuilder(payload.length * 4);
+        ByteBuffer buf = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        sb.append('[');
+        while (buf.remaining() >= DRAG_ENTRY_SIZE) {
+            int idx = buf.getShort();
+            float x = buf.getFloat();
+            float y = buf.getFloat();
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("{\"x\":").append(x).append(",\"y\":").append(y).append(",\"index\":").append(idx).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    public static boolean isValidCursor(byte[] payload) {
+        return payload.length == 9 && Float.isFinite(cursorX(payload)) && Float.isFinite(cursorY(payload));
+    }
+
+    public static float cursorX(byte[] payload) {
+        return ByteBuffer.wrap(payload).getFloat(1);
+    }
+
+    public static float cursorY(byte[] payload) {
+        return ByteBuffer.wrap(payload).getFloat(5);
+    }
+
+    public static byte[] encodeCursor(int slot, float x, float y) {
+        return ByteBuffer.allocate(1 + CURSOR_ENTRY_SIZE)
+                .put(CURSOR)
+                .put((byte) slot)
+                .putFloat(x)
+                .putFloat(y)
+                .array();
+    }
+
+    //틱에서 모은 커서들을 한 프레임으로, 보낼 게 없으면 null
+    public static byte[] encodeCursors(List<MoveBuffer.Cursor> cursors, Game game) {
+        ByteBuffer buf = ByteBuffer.allocate(1 + cursors.size() * CURSOR_ENTRY_SIZE);
+        buf.put(CURSOR);
+        for (MoveBuffer.Cursor cursor : cursors) {
+            int slot = game.getUserSlot(cursor.getSender());
+            if (slot == -1) {
+                continue;
+            }
+            buf.put((byte) slot);
+            buf.putFloat(cursor.getX());
+            buf.putFloat(cursor.getY());
+        }
+
+        if (buf.position() == 1) {
+            return null;
+        }
+        byte[] frame = new byte[buf.position()];
+        System.arraycopy(buf.array(), 0, frame, 0, frame.length);
+        return frame;
+    }
+}
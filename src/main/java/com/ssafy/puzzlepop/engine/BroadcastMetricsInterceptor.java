@@ -0,0 +1,27 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.service.GameMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+//브로커 채널에 들어오는 메시지 크기 기록
+//convertAndSend 는 여기 오기 전에 직렬화를 끝내므로 실제로 나가는 바이트 수를 한 번만 셈
+@Component
+@RequiredArgsConstructor
+public class BroadcastMetricsInterceptor implements ChannelInterceptor {
+
+    private final GameMetrics gameMetrics;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (message.getPayload() instanceof byte[]) {
+            int size = ((byte[]) message.getPayload()).length;
+            gameMetrics.recordBroadcast(SimpMessageHeaderAccessor.getDestination(message.getHeaders()), size);
+        }
+        return message;
+    }
+}
@@ -51,7 +51,7 @@ public class CustomHandshakeInterceptor implements HandshakeInterceptor {
     // 클라이언트가 요청한 방 번호가 유효한지 확인
     private boolean isValidRoomId(String roomId) {
         // 여기에 방 번호가 유효한지 확인하는 로직
-        return gameService.getGameRooms().containsKey(roomId);
+        return gameService.getRooms().contains(roomId);
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.ssafy.puzzlepop.engine;
 
 import com.ssafy.puzzlepop.engine.service.GameService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -18,6 +19,12 @@ public class GameSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final StompHandler stompHandler;
     private final GameService gameService;
     private final CustomHandshakeInterceptor customHandshakeInterceptor;
+    private final BroadcastMetricsInterceptor broadcastMetricsInterceptor;
+
+    //STOMP 수신 채널 스레드 수 (0 이면 스프링 기본값)
+    //방 상태 변경은 방 명령 큐에서 직렬로 처리되므로 늘려도 퍼즐 판이 꼬이지 않음
+    @Value("${game.inbound.pool-size:0}")
+    private int inboundPoolSize;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -34,11 +41,19 @@ public class GameSocketConfig implements WebSocketMessageBrokerConfigurer {
 
         //sub으로 시작되는 요청을 구독한 모든 사용자들에게 메시지를 broadcast한다.
         registry.enableSimpleBroker("/queue", "/topic");
+
+        //방송 메시지 크기 지표
+        registry.configureBrokerChannel().interceptors(broadcastMetricsInterceptor);
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(stompHandler);
+        if (inboundPoolSize > 0) {
+            registration.taskExecutor()
+                    .corePoolSize(inboundPoolSize)
+                    .maxPoolSize(inboundPoolSize);
+        }
     }
 
     // 클라이언트가 채팅방에 접속하려는 URL이 유효한지 확인
@@ -48,6 +63,6 @@ public class GameSocketConfig implements WebSocketMessageBrokerConfigurer {
             return false;
         }
 
-        return gameService.getGameRooms().containsKey(roomId);// 예시: 허용된 방 번호 집합에 해당 방 번호가 포함되어 있는지 확인
+        return gameService.getRooms().contains(roomId);// 예시: 허용된 방 번호 집합에 해당 방 번호가 포함되어 있는지 확인
     }
 }
@@ -10,6 +10,7 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 
 @Configuration
 @RequiredArgsConstructor
@@ -20,6 +21,15 @@ public class StompHandler implements ChannelInterceptor {
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
 //        System.out.println("StompHandler.preSend");
+        //CONNECT 때 바이너리 형식 요청하면 세션에 표시
+        StompHeaderAccessor connectAccessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (connectAccessor != null
+                && StompCommand.CONNECT.equals(connectAccessor.getCommand())
+                && "binary".equals(connectAccessor.getFirstNativeHeader(BinaryWire.HEADER))
+                && connectAccessor.getSessionAttributes() != null) {
+            connectAccessor.getSessionAttributes().put(BinaryWire.SESSION_ATTRIBUTE, true);
+        }
+
 //        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
 //        String sessionId = accessor.getSessionId();
 //
@@ -8,7 +8,10 @@ import com.ssafy.puzzlepop.image.service.ImageService;
 import com.ssafy.puzzlepop.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -16,10 +19,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.util.Base64;
-import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -31,20 +32,38 @@ public class GameRoomController {
     private final GameService gameService;
     private final UserService userService;
 
-    //협동 게임 방 리스트
+    //협동 게임 방 리스트 (최근 생성 순, size 를 주면 page 번째 페이지만)
     @GetMapping("/rooms/cooperation")
     @ResponseBody
-    public ResponseEntity<?> cooperationRooms() {
-        List<Game> allCooperationRoom = gameService.findAllCooperationRoom();
-        return ResponseEntity.ok(allCooperationRoom);
+    public ResponseEntity<byte[]> cooperationRooms(@RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "0") int size,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        return roomList("COOPERATION", page, size, ifNoneMatch);
     }
 
-    //배틀 게임 방 리스트
+    //배틀 게임 방 리스트 (최근 생성 순, size 를 주면 page 번째 페이지만)
     @GetMapping("/rooms/battle")
     @ResponseBody
-    public ResponseEntity<?> battleRooms() {
-        List<Game> allBattleRoom = gameService.findAllBattleRoom();
-        return ResponseEntity.ok(allBattleRoom);
+    public ResponseEntity<byte[]> battleRooms(@RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "0") int size,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        return roomList("BATTLE", page, size, ifNoneMatch);
+    }
+
+    //방 요약 목록, 직렬화해 둔 바이트 그대로 + ETag (바뀐 게 없으면 304)
+    private ResponseEntity<byte[]> roomList(String gameType, int page, int size, String ifNoneMatch) throws Exception {
+        RoomListing listing = gameService.getRoomListing(gameType, page, size);
+        if (ifNoneMatch != null && ifNoneMatch.contains(listing.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(listing.getEtag())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(listing.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.getBody());
     }
 
     //게임 생성
@@ -67,20 +86,20 @@ public class GameRoomController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("게임 없는데 너 뭐냐?");
         }
 
-        ImageDto imageDtoById = imageService.getImageDtoById(p.getId());
-        String filepath = imageDtoById.getFilepath();
-        String filenameExtension = imageDtoById.getFilenameExtension();
-
-        File file = new File(filepath+"."+filenameExtension);
-        BufferedImage image = ImageIO.read(file);
-        String base64Image = encodeImageToBase64(image, filenameExtension);
+        //크기, 해시는 업로드할 때 저장해 둔 값 사용 (사진 디코딩 안 함)
+        ImageDto imageDto = imageService.prepareImage(p.getId());
+        String contentHash = imageDto.getContentHash();
 
-        int width = image.getWidth();
-        int height = image.getHeight();
-        p.create(width, height, filepath, 40, base64Image);
+        p.create(imageDto.getWidth(), imageDto.getHeight(), imageDto.getFilepath(), 40, contentHash, "/image/asset/" + contentHash);
+        // 썸네일은 파생본이 만들어진 뒤에만 (ImageCatalogDto 와 같은 기준), 없으면 로비에서 원본 주소 사용
+        p.setThumbnailUrl(Boolean.TRUE.equals(imageDto.getDerivativesReady()) ? "/image/asset/" + contentHash + "/thumb" : null);
 
+        //방 상태는 방 명령 큐에서만 바꿈
         Game game = gameService.findById(gameId);
-        game.updatePicture(p);
+        gameService.execute(gameId, () -> {
+            game.updatePicture(p);
+            gameService.updateRoomState(game);
+        });
         return ResponseEntity.ok(p);
     }
 
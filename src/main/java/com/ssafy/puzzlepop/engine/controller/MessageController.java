@@ -1,8 +1,13 @@
 package com.ssafy.puzzlepop.engine.controller;
 
+import com.ssafy.puzzlepop.engine.BinaryWire;
 import com.ssafy.puzzlepop.engine.InGameMessage;
 import com.ssafy.puzzlepop.engine.SocketError;
 import com.ssafy.puzzlepop.engine.domain.*;
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import com.ssafy.puzzlepop.engine.log.GameEventType;
+import com.ssafy.puzzlepop.engine.service.GameClock;
+import com.ssafy.puzzlepop.engine.service.GameMetrics;
 import com.ssafy.puzzlepop.engine.service.GameService;
 import com.ssafy.puzzlepop.image.domain.ImageDto;
 import com.ssafy.puzzlepop.image.service.ImageService;
@@ -11,16 +16,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import javax.imageio.ImageIO;
@@ -38,25 +48,30 @@ public class MessageController {
     private final GameService gameService;
     private final SimpMessageSendingOperations sendingOperations;
     private final ImageService imageService;
-    private final int BATTLE_TIMER = 303;
-    private String sessionId;
-    private final Queue<User> waitingList = new LinkedList<>();
+    private final GameClock gameClock;
+    private final GameMetrics gameMetrics;
+    private final Queue<User> waitingList = new LinkedList<>(); //로비 큐에서만 접근
 
+    //드래그, 커서를 모았다가 틱마다 한 번에 전송 (false 면 받는 즉시 전송)
+    @Value("${game.tick.enabled:true}")
+    private boolean tickEnabled;
+    @Value("${game.tick.interval-ms:40}")
+    private long tickIntervalMs;
 
-    //세션 아이디 설정
     @EventListener
-    public void handleWebSocketConnectListener(SessionConnectEvent event) {
-//        System.out.println("MessageController.handleWebSocketConnectListener");
-//        System.out.println(event.getMessage().getHeaders().get("simpSessionId"));
-        sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
-    }
-
-    @EventListener
-    public void handleDisconnectEvent(SessionDisconnectEvent event) throws InterruptedException {
+    public void handleDisconnectEvent(SessionDisconnectEvent event) {
 //        System.out.println("MessageController.handleDisconnectEvent");
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = accessor.getSessionId();
         String gameId = gameService.sessionToGame.get(sessionId);
+        if (gameId == null) {
+            return;
+        }
+
+        gameService.execute(gameId, () -> disconnect(accessor, sessionId, gameId));
+    }
+
+    private void disconnect(StompHeaderAccessor accessor, String sessionId, String gameId) {
         Game game = gameService.findById(gameId);
         if (game == null) {
             return;
@@ -64,9 +79,10 @@ public class MessageController {
 
         if (accessor.getCommand().equals(StompCommand.DISCONNECT)) {
             if (game.isFinished()) {
-                System.out.println(game.getSessionToUser().get(sessionId).getId() + " 님이 퇴장하십니다.");
+                GameEventLog.log(GameEventType.EXIT, "user", game.getSessionToUser().get(sessionId).getId(), "finished", true);
                 game.exitPlayer(sessionId);
                 gameService.sessionToGame.remove(sessionId);
+                gameService.updateRoomState(game);
             } else {
                 if (!game.isStarted()) {
                     //잠시 대기
@@ -78,12 +94,14 @@ public class MessageController {
 //                        System.out.println("새로고침이였어. 다시 연결한다!");
 //                        return;
 //                    }
-                    System.out.println(game.getSessionToUser().get(sessionId).getId() + " 님이 퇴장하십니다.");
+                    GameEventLog.log(GameEventType.EXIT, "user", game.getSessionToUser().get(sessionId).getId(), "finished", false);
                     game.exitPlayer(sessionId);
 
                     gameService.sessionToGame.remove(sessionId);
+                    gameService.updateRoomState(game);
                 } else {
-                    System.out.println("어딜 나가 이자식아");
+                    //게임 중에는 나가도 자리 유지
+                    GameEventLog.log(GameEventType.EXIT_IGNORED, "session", sessionId);
                     return;
                 }
             }
@@ -94,8 +112,100 @@ public class MessageController {
 
 
 
+    //세션 아이디는 메시지 헤더에서 바로 꺼냄
+    //같은 방 메시지는 방 명령 큐에서 도착 순서대로 처리
     @MessageMapping("/game/message")
-    public void enter(InGameMessage message) throws Exception {
+    public void enter(InGameMessage message, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        boolean binary = BinaryWire.isBinary(headerAccessor.getSessionAttributes());
+        gameService.execute(message.getRoomId(), () -> handleMessage(message, sessionId, binary));
+    }
+
+    //바이너리 형식 드래그, 커서 (형식은 BinaryWire 참고)
+    //CONNECT 때 wire-format: binary 로 연결한 세션만 받음
+    @MessageMapping("/game/binary/{roomId}")
+    public void binary(@DestinationVariable String roomId, byte[] payload, SimpMessageHeaderAccessor headerAccessor) {
+        if (!BinaryWire.isBinary(headerAccessor.getSessionAttributes())) {
+            GameEventLog.logRoom(roomId, GameEventType.COMMAND_IGNORED, "reason", "binary not negotiated", "session", headerAccessor.getSessionId());
+            return;
+        }
+
+        String sessionId = headerAccessor.getSessionId();
+        gameService.execute(roomId, () -> handleBinary(roomId, sessionId, payload));
+    }
+
+    private void handleBinary(String roomId, String sessionId, byte[] payload) {
+        Game game = gameService.findById(roomId);
+        if (game == null || !game.isStarted() || payload.length == 0) {
+            return;
+        }
+
+        User user = game.getSessionToUser().get(sessionId);
+        if (user == null) {
+            return;
+        }
+
+        if (payload[0] == BinaryWire.DRAG && BinaryWire.isValidDrag(payload)) {
+            String color = game.getRedTeam().isIn(user.getId()) ? "RED" : game.getBlueTeam().isIn(user.getId()) ? "BLUE" : null;
+            if (color == null) {
+                return;
+            }
+
+            PuzzleBoard puzzle = color.equals("RED") ? game.getRedPuzzle() : game.getBluePuzzle();
+            if (tickEnabled) {
+                BinaryWire.applyDrag(payload, puzzle, game.getMoveBuffer().drag(user.getId(), color));
+                return;
+            }
+
+            BinaryWire.applyDrag(payload, puzzle, null);
+            sendingOperations.convertAndSend("/topic/game/room/" + roomId + "/binary", BinaryWire.relayDrag(payload, BinaryWire.team(color)));
+
+            //기존 JSON 클라이언트에게는 MOVE 로 변환해서 전송
+            if (game.hasJsonClients()) {
+                ResponseMessage res = new ResponseMessage();
+                res.setSenderId(user.getId());
+                res.setMessage("MOVE");
+                res.setTargets(BinaryWire.dragToJson(payload));
+                res.setTeam(color);
+                fillGameStatus(game, res);
+                sendingOperations.convertAndSend("/topic/game/room/" + roomId, res);
+            }
+        } else if (payload[0] == BinaryWire.CURSOR && BinaryWire.isValidCursor(payload)) {
+            float x = BinaryWire.cursorX(payload);
+            float y = BinaryWire.cursorY(payload);
+            if (tickEnabled) {
+                game.getMoveBuffer().cursor(user.getId(), user.isMember(), x, y, null);
+                return;
+            }
+
+            int slot = game.getUserSlot(user.getId());
+            if (slot != -1) {
+                sendingOperations.convertAndSend("/topic/game/room/" + roomId + "/binary", BinaryWire.encodeCursor(slot, x, y));
+            }
+
+            if (game.hasJsonClients()) {
+                InGameMessage cursor = new InGameMessage();
+                cursor.setType(InGameMessage.MessageType.GAME);
+                cursor.setRoomId(roomId);
+                cursor.setSender(user.getId());
+                cursor.setMember(user.isMember());
+                cursor.setMessage("CURSOR");
+                cursor.setPosition_x(Math.round(x));
+                cursor.setPosition_y(Math.round(y));
+                sendingOperations.convertAndSend("/topic/game/room/" + roomId, cursor);
+            }
+        }
+    }
+
+    private void handleMessage(InGameMessage message, String sessionId, boolean binary) throws Exception {
+        //드래그, 커서 외의 명령(조각 붙이기, 아이템, 잠금 등)보다 먼저 들어온 움직임은 먼저 내보냄
+        if (tickEnabled && message.getRoomId() != null && !isMoveMessage(message)) {
+            Game game = gameService.findById(message.getRoomId());
+            if (game != null) {
+                flushMoves(game);
+            }
+        }
+
         if (message.getType().equals(InGameMessage.MessageType.ENTER)) {
             Game game = gameService.findById(message.getRoomId());
 
@@ -105,11 +215,15 @@ public class MessageController {
             gameService.sessionToGame.put(sessionId, message.getRoomId());
 
             if (game.enterPlayer(new User(message.getSender(), message.isMember(), sessionId), sessionId)) {
+                if (binary) {
+                    game.getBinarySessions().add(sessionId);
+                }
+                gameService.updateRoomState(game);
                 sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId(), game);
-                System.out.println(gameService.findById(message.getRoomId()).getGameName() + "에 " + message.getSender() + " " + message.isMember() + "님이 입장하셨습니다.");
+                GameEventLog.log(GameEventType.ENTER, "user", message.getSender(), "member", message.isMember(), "binary", binary);
             } else {
                 sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId(),new SocketError("room", "방 가득 참"));
-                System.out.println(gameService.findById(message.getRoomId()).getGameName() + "에 " + message.getSender() + "님이 입장하지 못했습니다.");
+                GameEventLog.log(GameEventType.ENTER_REJECTED, "user", message.getSender(), "reason", "full");
             }
         } else if (message.getType().equals(InGameMessage.MessageType.CHAT)) {
             ResponseChatMessage responseChatMessage = new ResponseChatMessage();
@@ -176,7 +290,6 @@ public class MessageController {
 
         else {
             if (message.getMessage().equals("GAME_START")) {
-                System.out.println("GAME_START");
                 Game game = gameService.startGame(message.getRoomId());
                 sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId(), game);
             } else if (message.getMessage().equals("GAME_INFO")) {
@@ -188,92 +301,276 @@ public class MessageController {
                 User userB = game.getBlueTeam().getPlayer(message.getTargets());
                 game.changeTeam(userA, userB);
                 sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId(), game);
+            } else if (message.getMessage().equals("RESYNC")) {
+                //변경분을 놓친 클라이언트에게만 전체 정보 다시 보내기
+                Game game = gameService.findById(message.getRoomId());
+                if (game == null) {
+                    return;
+                }
+                sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId()+"/resync/"+message.getSender(), game);
             } else if (message.getMessage().equals("CURSOR")) {
+                if (tickEnabled) {
+                    Game game = gameService.findById(message.getRoomId());
+                    if (game != null) {
+                        game.getMoveBuffer().cursor(message.getSender(), message.isMember(), message.getPosition_x(), message.getPosition_y(), message);
+                    }
+                    return;
+                }
+
                 sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId(), message);
+
+                //바이너리 클라이언트용
+                Game game = gameService.findById(message.getRoomId());
+                if (game != null && game.hasBinaryClients()) {
+                    int slot = game.getUserSlot(message.getSender());
+                    if (slot != -1) {
+                        sendingOperations.convertAndSend("/topic/game/room/"+message.getRoomId()+"/binary",
+                                BinaryWire.encodeCursor(slot, message.getPosition_x(), message.getPosition_y()));
+                    }
+                }
             } else {
                 if (gameService.findById(message.getRoomId()) == null) {
                     return;
                 }
 
                 if (!gameService.findById(message.getRoomId()).isStarted()) {
-                    System.out.println("게임 시작 안했음! 명령 무시함");
+                    GameEventLog.log(GameEventType.COMMAND_IGNORED, "user", message.getSender(), "message", message.getMessage());
                     return;
                 }
                 Game game = gameService.findById(message.getRoomId());
+                if (tickEnabled && message.getMessage().equals("MOUSE_DRAG")) {
+                    gameService.bufferDrag(game, message);
+                    return;
+                }
+
                 ResponseMessage res = gameService.playGame(message);
-                res.setRedItemList(game.getRedPuzzle().getItemList());
-                res.setBlueItemList(game.getBluePuzzle().getItemList());
-                res.setRedProgressPercent((double) game.getRedPuzzle().getCorrectedCount() / (game.getRedPuzzle().getLengthCnt() * game.getRedPuzzle().getWidthCnt()) * 100);
-                res.setBlueProgressPercent((double) game.getBluePuzzle().getCorrectedCount() / (game.getBluePuzzle().getLengthCnt() * game.getBluePuzzle().getWidthCnt()) * 100);
+                fillGameStatus(game, res);
+                sendingOperations.convertAndSend("/topic/game/room/" + message.getRoomId(), res);
 
-                if (game.isFinished()) {
-                    res.setFinished(true);
+                //바이너리 클라이언트용 드래그
+                if (res.getMessage() != null && res.getMessage().equals("MOVE") && game.hasBinaryClients()) {
+                    PieceDto[] moved = gameService.getGson().fromJson(res.getTargets(), PieceDto[].class);
+                    sendingOperations.convertAndSend("/topic/game/room/" + message.getRoomId() + "/binary",
+                            BinaryWire.encodeDrag(moved, BinaryWire.team(res.getTeam())));
                 }
+            }
+        }
+    }
+
+    private boolean isMoveMessage(InGameMessage message) {
+        return message.getType().equals(InGameMessage.MessageType.GAME)
+                && ("MOUSE_DRAG".equals(message.getMessage()) || "CURSOR".equals(message.getMessage()));
+    }
 
-                res.setRedBundles(game.getRedPuzzle().getBundles());
-                if (game.getGameType().equals("BATTLE")) {
-                    res.setBlueBundles(game.getBluePuzzle().getBundles());
+    //틱마다 모아둔 드래그, 커서 전송
+    @Scheduled(fixedRateString = "${game.tick.interval-ms:40}")
+    public void tick() {
+        if (!tickEnabled) {
+            return;
+        }
+
+        gameMetrics.recordSchedulerRun("tick", tickIntervalMs);
+        long scheduled = System.nanoTime();
+        for (Game game : gameClock.getRunning()) {
+            MoveBuffer buffer = game.getMoveBuffer();
+            if (buffer.isPending() && buffer.tryScheduleFlush()) {
+                gameService.execute(game.getGameId(), () -> {
+                    gameMetrics.recordSchedulerLag("tick", scheduled);
+                    buffer.flushed();
+                    flushMoves(game);
+                });
+            }
+        }
+    }
+
+    //방 명령 큐 안에서만 호출
+    //JSON 클라이언트에게는 보낸 사람마다 MOVE 하나, 바이너리 클라이언트에게는 팀마다 드래그 프레임 하나와 커서 프레임 하나
+    private void flushMoves(Game game) {
+        MoveBuffer buffer = game.getMoveBuffer();
+        if (!buffer.isPending()) {
+            return;
+        }
+
+        String topic = "/topic/game/room/" + game.getGameId();
+        BitSet redMoved = new BitSet();
+        BitSet blueMoved = new BitSet();
+        for (MoveBuffer.Drag drag : buffer.drainDrags()) {
+            boolean red = drag.getTeam().equals("RED");
+            PuzzleBoard puzzle = red ? game.getRedPuzzle() : game.getBluePuzzle();
+            (red ? redMoved : blueMoved).or(drag.getPieces());
+
+            if (game.hasJsonClients()) {
+                ResponseMessage res = new ResponseMessage();
+                res.setSenderId(drag.getSender());
+                res.setMessage("MOVE");
+                res.setTargets(BinaryWire.dragToJson(drag.getPieces(), puzzle));
+                res.setTeam(drag.getTeam());
+                fillGameStatus(game, res);
+                sendingOperations.convertAndSend(topic, res);
+            }
+        }
+
+        if (game.hasBinaryClients()) {
+            if (!redMoved.isEmpty()) {
+                sendingOperations.convertAndSend(topic + "/binary", BinaryWire.encodeDrag(redMoved, game.getRedPuzzle(), BinaryWire.team("RED")));
+            }
+            if (!blueMoved.isEmpty()) {
+                sendingOperations.convertAndSend(topic + "/binary", BinaryWire.encodeDrag(blueMoved, game.getBluePuzzle(), BinaryWire.team("BLUE")));
+            }
+        }
+
+        List<MoveBuffer.Cursor> cursors = buffer.drainCursors();
+        if (cursors.isEmpty()) {
+            return;
+        }
+
+        if (game.hasJsonClients()) {
+            for (MoveBuffer.Cursor cursor : cursors) {
+                InGameMessage res = cursor.getSource();
+                if (res == null) {
+                    res = new InGameMessage();
+                    res.setType(InGameMessage.MessageType.GAME);
+                    res.setRoomId(game.getGameId());
+                    res.setSender(cursor.getSender());
+                    res.setMember(cursor.isMember());
+                    res.setMessage("CURSOR");
+                    res.setPosition_x(Math.round(cursor.getX()));
+                    res.setPosition_y(Math.round(cursor.getY()));
                 }
-                sendingOperations.convertAndSend("/topic/game/room/" + message.getRoomId(), res);
+                sendingOperations.convertAndSend(topic, res);
+            }
+        }
+
+        if (game.hasBinaryClients()) {
+            byte[] frame = BinaryWire.encodeCursors(cursors, game);
+            if (frame != null) {
+                sendingOperations.convertAndSend(topic + "/binary", frame);
+            }
+        }
+    }
+
+    //게임 중 응답에 공통으로 붙는 진행률, 아이템, 뭉탱이 정보
+    private void fillGameStatus(Game game, ResponseMessage res) {
+        res.setRedProgressPercent((double) game.getRedPuzzle().getCorrectedCount() / (game.getRedPuzzle().getLengthCnt() * game.getRedPuzzle().getWidthCnt()) * 100);
+        res.setBlueProgressPercent((double) game.getBluePuzzle().getCorrectedCount() / (game.getBluePuzzle().getLengthCnt() * game.getBluePuzzle().getWidthCnt()) * 100);
+
+        if (game.isFinished()) {
+            res.setFinished(true);
+        }
+
+        if (game.isDeltaSync()) {
+            //바뀐 조각, 아이템 목록만 전송
+            res.setRedDelta(game.getRedPuzzle().drainDelta());
+            if (game.getGameType().equals("BATTLE")) {
+                res.setBlueDelta(game.getBluePuzzle().drainDelta());
+            }
+        } else {
+            res.setRedItemList(game.getRedPuzzle().getItemList());
+            res.setBlueItemList(game.getBluePuzzle().getItemList());
+            res.setRedBundles(game.getRedPuzzle().getBundles());
+            if (game.getGameType().equals("BATTLE")) {
+                res.setBlueBundles(game.getBluePuzzle().getBundles());
             }
         }
     }
 
     //서버 타이머  제공
+    //시작한 게임만 돌면서 시간 전송, 배틀 종료는 타이머 휠에서 꺼내질 때 한 번만
     @Scheduled(fixedRate = 1000)
-    public void sendServerTime() throws Exception {
-        List<Game> allRoom = gameService.findAllCooperationRoom();
-        allRoom.addAll(gameService.findAllBattleRoom());
-        for (int i = allRoom.size()-1; i >= 0 ; i--) {
-            if (allRoom.get(i).isStarted()) {
-                long time = allRoom.get(i).getTime();
-                if (allRoom.get(i).getGameType().equals("BATTLE")) {
-                    time = BATTLE_TIMER-time;
-                }
-                if (time >= 0) {
-                    Map<String, Long> timer = new HashMap<>();
-                    timer.put("time", time);
-                    sendingOperations.convertAndSend("/topic/game/room/" + allRoom.get(i).getGameId(), timer);
-                } else {
-                    if (allRoom.get(i).getGameType().equals("BATTLE")) {
-                        allRoom.get(i).setFinishTime(new Date());
-                        allRoom.get(i).setFinished(true);
+    public void sendServerTime() {
+        gameMetrics.recordSchedulerRun("sendServerTime", 1000);
+        long scheduled = System.nanoTime();
+        for (Game game : gameClock.advance()) {
+            gameService.execute(game.getGameId(), () -> finishBattle(game));
+        }
 
-                        gameService.save(allRoom.get(i));
-                        allRoom.get(i).setSaved(true);
+        for (Game game : gameClock.getRunning()) {
+            gameService.execute(game.getGameId(), () -> {
+                gameMetrics.recordSchedulerLag("sendServerTime", scheduled);
+                sendServerTime(game);
+            });
+        }
+    }
 
-                        ResponseMessage res = new ResponseMessage();
-                        res.setFinished(true);
+    private void sendServerTime(Game game) {
+        //이미 폭파된 방
+        if (gameService.findById(game.getGameId()) != game) {
+            gameClock.stop(game);
+            return;
+        }
 
-                        Thread.sleep(20);
-                        sendingOperations.convertAndSend("/topic/game/room/" + allRoom.get(i).getGameId(), res);
-                    }
-                    sendingOperations.convertAndSend("/topic/game/room/" + allRoom.get(i).getGameId(), "너 게임 끝났어! 이 방 폭파됨");
-                    gameService.deleteRoom(allRoom.get(i).getGameId());
-                }
-//                System.out.println(allRoom.get(i).getGameName() + "에 " + allRoom.get(i).getTime() + "초 라고 보냈음");
-            }
+        long time = game.getTime();
+        if (game.getGameType().equals("BATTLE")) {
+            time = GameClock.BATTLE_TIMER - time;
+        }
+        if (time >= 0) {
+            sendingOperations.send("/topic/game/room/" + game.getGameId(), jsonFrame(gameClock.timeFrame(time)));
+        }
+//        System.out.println(game.getGameName() + "에 " + game.getTime() + "초 라고 보냈음");
+    }
+
+    private void finishBattle(Game game) throws Exception {
+        if (gameService.findById(game.getGameId()) != game) {
+            return;
+        }
+
+        //스케줄러가 밀려서 아직 남은 시간이 있으면 다시 등록
+        long left = GameClock.BATTLE_TIMER - game.getTime();
+        if (left >= 0) {
+            gameClock.delay(game, left + 1);
+            return;
         }
+
+        flushMoves(game);
+        //퍼즐을 다 맞춰 먼저 끝난 배틀은 끝난 시각 그대로 (저장도 이미 됨)
+        if (!game.isFinished()) {
+            game.setFinishTime(new Date());
+            game.setFinished(true);
+        }
+
+        gameService.save(game);
+        game.setSaved(true);
+        gameService.updateRoomState(game);
+
+        ResponseMessage res = new ResponseMessage();
+        res.setFinished(true);
+
+        sendingOperations.convertAndSend("/topic/game/room/" + game.getGameId(), res);
+        sendingOperations.convertAndSend("/topic/game/room/" + game.getGameId(), "너 게임 끝났어! 이 방 폭파됨");
+        gameService.deleteRoom(game.getGameId());
+    }
+
+    //미리 인코딩해 둔 JSON 을 변환 없이 그대로 전송
+    private static Message<byte[]> jsonFrame(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
     }
 
     //배틀 드랍 아이템 제공
     //20초에 한번씩 제공하기로 함
     @Scheduled(fixedRate = 10000)
     public void sendDropItem() {
-        List<Game> allRoom = gameService.findAllBattleRoom();
+        gameMetrics.recordSchedulerRun("sendDropItem", 10000);
+        long scheduled = System.nanoTime();
+        //진행 중인 배틀 방만
+        List<Game> allRoom = gameService.findStartedBattleRoom();
         Random random = new Random();
-        for (int i = allRoom.size()-1; i >= 0 ; i--) {
-            if (allRoom.get(i).isStarted()) {
-                //확률 계산
-                int possibility = random.nextInt(100);
-                if (possibility <= 100) {
+        for (Game game : allRoom) {
+            //확률 계산
+            int possibility = random.nextInt(100);
+            if (possibility <= 100) {
+                gameService.execute(game.getGameId(), () -> {
+                    gameMetrics.recordSchedulerLag("sendDropItem", scheduled);
+                    flushMoves(game);
                     DropItem item = DropItem.randomCreate();
-                    allRoom.get(i).getDropRandomItem().put(item.getUuid(), item);
+                    game.getDropRandomItem().put(item.getUuid(), item);
                     ResponseMessage res = new ResponseMessage();
                     res.setMessage("DROP_ITEM");
                     res.setRandomItem(item);
-                    sendingOperations.convertAndSend("/topic/game/room/" + allRoom.get(i).getGameId(), res);
-                }
+                    sendingOperations.convertAndSend("/topic/game/room/" + game.getGameId(), res);
+                });
             }
         }
     }
@@ -281,14 +578,12 @@ public class MessageController {
     //60초에 한번씩 방 청소
     @Scheduled(fixedRate = 60000)
     public void deleteGame() {
-        List<Game> allRoom = gameService.findAllBattleRoom();
-        allRoom.addAll(gameService.findAllCooperationRoom());
-        for (int i = allRoom.size()-1; i >= 0 ; i--) {
-            if (allRoom.get(i).isEmpty()) {
-                System.out.println(allRoom.get(i).getGameName() + " 방 삭제");
-                gameService.deleteRoom(allRoom.get(i).getGameId());
-            }
+        for (Game game : gameService.getRooms().all()) {
+            gameService.execute(game.getGameId(), () -> {
+                if (game.isEmpty()) {
+                    gameService.deleteRoom(game.getGameId());
+                }
+            });
         }
     }
 }
-
@@ -0,0 +1,21 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+//퍼즐 판 변경분
+//클라이언트는 자기 revision 이 fromRevision 과 같을 때만 적용하고 toRevision 으로 올림
+//다르면 RESYNC 요청해서 전체 정보를 다시 받음
+@Getter @Setter @ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardDelta {
+    private long fromRevision;
+    private long toRevision;
+    private int correctedCount;
+    private List<PieceState> pieces; //바뀐 조각들
+    private Item[] itemList; //아이템 목록이 바뀌었을 때만 포함
+}
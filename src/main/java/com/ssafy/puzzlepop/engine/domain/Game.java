@@ -1,5 +1,8 @@
 package com.ssafy.puzzlepop.engine.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import com.ssafy.puzzlepop.engine.log.GameEventType;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -33,6 +36,13 @@ public class Game {
     private Map<String, DropItem> dropRandomItem;
     private boolean isFinished = false;
     private boolean isSaved = false;
+    private boolean deltaSync = false; //게임 중 응답에 퍼즐 판 변경분만 보낼지
+    @JsonIgnore
+    private RoomMailbox mailbox; //이 방의 명령 큐, 방 상태는 여기서만 바꿈
+    @JsonIgnore
+    private Set<String> binarySessions = new HashSet<>(); //바이너리 형식(BinaryWire)을 쓰는 세션들
+    @JsonIgnore
+    private MoveBuffer moveBuffer = new MoveBuffer(); //틱 사이에 들어온 드래그, 커서
 
     public void changeTeam(User a, User b) {
         if (redTeam.isIn((a)) && blueTeam.isIn((b))) {
@@ -70,7 +80,7 @@ public class Game {
                 for (int i = 0; i < 2; i++) {
                     admin = iter.next();
                 }
-                System.out.println("방장이 " + admin.getId() + " 님으로 바뀌었습니다~");
+                GameEventLog.logRoom(gameId, GameEventType.ADMIN_CHANGE, "user", admin.getId(), null, null);
             }
         }
 
@@ -81,6 +91,29 @@ public class Game {
         }
 
         sessionToUser.remove(sessionId);
+        binarySessions.remove(sessionId);
+    }
+
+    public boolean hasBinaryClients() {
+        return !binarySessions.isEmpty();
+    }
+
+    public boolean hasJsonClients() {
+        return sessionToUser.size() > binarySessions.size();
+    }
+
+    //바이너리 커서 메시지용 유저 번호 (players 순서), 없으면 -1
+    public int getUserSlot(String userId) {
+        if (players == null) {
+            return -1;
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getId().equals(userId)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public boolean enterPlayer(User user, String sessionId) {
@@ -134,6 +167,7 @@ public class Game {
 
         game.sessionToUser = map;
         game.dropRandomItem = dropItemMap;
+        game.deltaSync = room.isDeltaSync();
 
 
 
@@ -156,7 +190,7 @@ public class Game {
 
             game.startTime = new Date();
 
-            System.out.println(name + "배틀 방 생성 / id = " + uuid);
+            GameEventLog.logRoom(uuid, GameEventType.ROOM_CREATE, "type", "BATTLE", "name", name);
         } else if (gameType.equals("COOPERATION")){
             Team red = new Team(new LinkedList<>());
             Team blue = new Team(new LinkedList<>());
@@ -174,7 +208,7 @@ public class Game {
 
             game.startTime = new Date();
 
-            System.out.println(name + "협동 방 생성 / id = " + uuid);
+            GameEventLog.logRoom(uuid, GameEventType.ROOM_CREATE, "type", "COOPERATION", "name", name);
         }
 
         return game;
@@ -205,7 +239,7 @@ public class Game {
         startTime = new Date();
         isStarted = true;
 
-        System.out.println("------------------게임 시작-------------------");
+        GameEventLog.logRoom(gameId, GameEventType.GAME_START, "players", players.size(), null, null);
 //        redPuzzle.print();
 //        bluePuzzle.print();
     }
@@ -0,0 +1,50 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+//끝난 게임의 저장용 스냅샷 (게임 스레드에서 만들어서 저장 스레드로 넘김)
+//방은 저장이 끝나기 전에 지워질 수 있으므로 필요한 값만 복사해 둠
+@Getter
+@AllArgsConstructor
+public class GameResult {
+    private final String gameId;
+    private final String gameType;
+    private final boolean finished;
+    private final int playerCount;
+    private final int roomSize;
+    private final int totalPieceCount;
+    private final Date startTime;
+    private final Date finishTime;
+    private final List<TeamResult> teams; //협동은 1팀, 배틀은 레드, 블루 순서
+
+    @Getter
+    @AllArgsConstructor
+    public static class TeamResult {
+        private final int matchedPieceCount;
+        private final boolean won;
+        private final List<User> players;
+    }
+
+    public static GameResult of(Game game) {
+        List<TeamResult> teams = new ArrayList<>();
+        int red = game.getRedPuzzle().getCorrectedCount();
+
+        if ("COOPERATION".equals(game.getGameType())) {
+            teams.add(new TeamResult(red, false, new ArrayList<>(game.getPlayers())));
+        } else if ("BATTLE".equals(game.getGameType())) {
+            //맞춘 피스가 더 많은 팀이 승리 (같으면 둘 다 패배)
+            int blue = game.getBluePuzzle().getCorrectedCount();
+            teams.add(new TeamResult(red, red > blue, new ArrayList<>(game.getRedTeam().getPlayers())));
+            teams.add(new TeamResult(blue, blue > red, new ArrayList<>(game.getBlueTeam().getPlayers())));
+        }
+
+        return new GameResult(game.getGameId(), game.getGameType(), game.isFinished(), game.getPlayers().size(),
+                game.getRoomSize(), game.getRedPuzzle().getWidthCnt() * game.getRedPuzzle().getLengthCnt(),
+                game.getStartTime(), game.getFinishTime(), teams);
+    }
+}
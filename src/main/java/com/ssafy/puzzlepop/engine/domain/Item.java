@@ -1,5 +1,7 @@
 package com.ssafy.puzzlepop.engine.domain;
 
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import com.ssafy.puzzlepop.engine.log.GameEventType;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -74,21 +76,25 @@ public class Item {
         return new Item(list.get(random.nextInt(list.size())));
     }
 
+    //효과 대상 조각은 게임 이벤트 로그에 한 번만 남김
     public List<Integer> run(PuzzleBoard puzzle) {
-        List<Set<Piece>> bundles;
-        Set<Piece> mostManyBundle;
+        List<Integer> targets = apply(puzzle);
+        GameEventLog.log(GameEventType.ITEM_RUN, "item", name, "targets", targets);
+        return targets;
+    }
+
+    private List<Integer> apply(PuzzleBoard puzzle) {
+        int mostManyBundlePiece;
         List<Integer> targets = new LinkedList<>();
 
         switch (this.id.intValue()) {
             case 1:
-                System.out.println(puzzle + "에 힌트 아이템 효과 발동~");
-                boolean[][] tmp = puzzle.getIsCorrected();
                 for (int i = 0; i < puzzle.getLengthCnt(); i++) {
                     for (int j = 0; j < puzzle.getWidthCnt()-1; j++) {
-                        if (!tmp[i][j] && !tmp[i][j+1]) {
-                            System.out.println(puzzle.getBoard()[i][j] + " " + puzzle.getBoard()[i][j+1]);
-                            targets.add(puzzle.getBoard()[i][j].getIndex());
-                            targets.add(puzzle.getBoard()[i][j+1].getIndex());
+                        int idx = i * puzzle.getWidthCnt() + j;
+                        if (!puzzle.isCorrectedPiece(idx) && !puzzle.isCorrectedPiece(idx+1)) {
+                            targets.add(idx);
+                            targets.add(idx+1);
                             return targets;
                         }
                     }
@@ -96,13 +102,10 @@ public class Item {
                 break;
 
             case 2:
-                System.out.println("EARTHQUAKE EFFECT");
-                for (int i = 0; i < puzzle.getLengthCnt(); i++) {
-                    for (int j = 0; j < puzzle.getWidthCnt(); j++) {
-                        if (!puzzle.getIsCorrected()[i][j]) {
-                            targets.add(puzzle.getBoard()[i][j].getIndex());
-                            puzzle.randomArrange(puzzle.getBoard()[i][j].getIndex());
-                        }
+                for (int idx = 0; idx < puzzle.getLengthCnt() * puzzle.getWidthCnt(); idx++) {
+                    if (!puzzle.isCorrectedPiece(idx)) {
+                        targets.add(idx);
+                        puzzle.randomArrange(idx);
                     }
                 }
 
@@ -114,33 +117,34 @@ public class Item {
 
             //액자
             case 4:
-                for (int i = 0; i < puzzle.getLengthCnt(); i++) {
-                    if (!puzzle.getIsCorrected()[i][0]) {
-                        targets.add(puzzle.getBoard()[i][0].getIndex());
+                int width = puzzle.getWidthCnt();
+                int length = puzzle.getLengthCnt();
+                for (int i = 0; i < length; i++) {
+                    if (!puzzle.isCorrectedPiece(i * width)) {
+                        targets.add(i * width);
                     }
                 }
 
-                for (int i = 0; i < puzzle.getWidthCnt(); i++) {
-                    if (!puzzle.getIsCorrected()[0][i]) {
-                        targets.add(puzzle.getBoard()[0][i].getIndex());
+                for (int i = 0; i < width; i++) {
+                    if (!puzzle.isCorrectedPiece(i)) {
+                        targets.add(i);
                     }
                 }
 
-                for (int i = 0; i < puzzle.getLengthCnt(); i++) {
-                    if (!puzzle.getIsCorrected()[i][puzzle.getWidthCnt()-1]) {
-                        targets.add(puzzle.getBoard()[i][puzzle.getWidthCnt()-1].getIndex());
+                for (int i = 0; i < length; i++) {
+                    if (!puzzle.isCorrectedPiece(i * width + width-1)) {
+                        targets.add(i * width + width-1);
                     }
                 }
 
-                for (int i = 0; i < puzzle.getWidthCnt(); i++) {
-                    if (!puzzle.getIsCorrected()[puzzle.getLengthCnt()-1][i]) {
-                        targets.add(puzzle.getBoard()[puzzle.getLengthCnt()-1][i].getIndex());
+                for (int i = 0; i < width; i++) {
+                    if (!puzzle.isCorrectedPiece((length-1) * width + i)) {
+                        targets.add((length-1) * width + i);
                     }
                 }
 
-                System.out.println("액자 효과 대상 : " + targets);
                 puzzle.addPiece(targets);
-                puzzle.searchForGroupDisbandment();
+                puzzle.searchForGroupDisbandment(targets);
                 break;
 
             case 5:
@@ -149,64 +153,22 @@ public class Item {
 
             //자석
             case 6:
-                for (int i = 0; i < puzzle.getLengthCnt(); i++) {
-                    for (int j = 0; j < puzzle.getWidthCnt(); j++) {
-                        if (!puzzle.getIsCorrected()[i][j]) {
-                            targets.add(puzzle.getBoard()[i][j].getIndex());
-
-                            int top = puzzle.getBoard()[i][j].getCorrectTopIndex();
-                            if (top != -1) {
-                                int[] coor = puzzle.getIdxToCoordinate().get(top);
-                                if (!puzzle.getIsCorrected()[coor[0]][coor[1]]) {
-                                    targets.add(top);
-                                } else {
-                                    targets.add(-1);
-                                }
-                            } else {
-                                targets.add(-1);
-                            }
-
-                            int right = puzzle.getBoard()[i][j].getCorrectRightIndex();
-                            if (right != -1) {
-                                int[] coor = puzzle.getIdxToCoordinate().get(right);
-                                if (!puzzle.getIsCorrected()[coor[0]][coor[1]]) {
-                                    targets.add(right);
-                                } else {
-                                    targets.add(-1);
-                                }
-                            } else {
-                                targets.add(-1);
-                            }
-
-                            int bottom = puzzle.getBoard()[i][j].getCorrectBottomIndex();
-                            if (bottom != -1) {
-                                int[] coor = puzzle.getIdxToCoordinate().get(bottom);
-                                if (!puzzle.getIsCorrected()[coor[0]][coor[1]]) {
-                                    targets.add(bottom);
-                                } else {
-                                    targets.add(-1);
-                                }
-                            } else {
-                                targets.add(-1);
-                            }
-
-
-                            int left = puzzle.getBoard()[i][j].getCorrectLeftIndex();
-                            if (left != -1) {
-                                int[] coor = puzzle.getIdxToCoordinate().get(left);
-                                if (!puzzle.getIsCorrected()[coor[0]][coor[1]]) {
-                                    targets.add(left);
-                                } else {
-                                    targets.add(-1);
-                                }
+                for (int idx = 0; idx < puzzle.getLengthCnt() * puzzle.getWidthCnt(); idx++) {
+                    if (!puzzle.isCorrectedPiece(idx)) {
+                        targets.add(idx);
+
+                        //상 우 하 좌 순서로 맞춰지지 않은 주변 조각, 없으면 -1
+                        for (int dir = 0; dir < 4; dir++) {
+                            int near = puzzle.getCorrectIndex(idx, dir);
+                            if (near != -1 && !puzzle.isCorrectedPiece(near)) {
+                                targets.add(near);
                             } else {
                                 targets.add(-1);
                             }
-
-                            System.out.println("자석 효과 대상 : " + targets);
-                            puzzle.addPiece(targets);
-                            return targets;
                         }
+
+                        puzzle.addPiece(targets);
+                        return targets;
                     }
                 }
 
@@ -214,74 +176,41 @@ public class Item {
 
             //로켓
             case 7:
-                System.out.println("ROCKET EFFECT");
-                if (puzzle.getBundles().isEmpty())
+                mostManyBundlePiece = puzzle.getLargestBundlePiece();
+                if (mostManyBundlePiece == -1)
                     return null;
-                bundles = puzzle.getBundles();
-                Collections.sort(bundles, (o1, o2) -> {
-                    return o2.size() - o1.size();
-                });
-                mostManyBundle = bundles.get(0);
-
-                targets = new LinkedList<>();
-                for (Piece p : mostManyBundle) {
-                    targets.add(p.getIndex());
-                }
-
-                for (int t : targets) {
-                    puzzle.deletePiece(t);
-                }
 
-                System.out.println("로켓 대상 : " + targets);
+                //가장 큰 덩어리 통째로 해체
+                targets = puzzle.deleteBundle(mostManyBundlePiece);
                 break;
 
             //불지르기
             case 8:
-                System.out.println("FIRE EFFECT");
-                if (puzzle.getBundles().isEmpty())
+                mostManyBundlePiece = puzzle.getLargestBundlePiece();
+                if (mostManyBundlePiece == -1)
                     return null;
 
-                //조각 개수가 많은 덩어리 순으로 정렬해서 그 덩어리 해체하기
-                bundles = puzzle.getBundles();
-                Collections.sort(bundles, (o1, o2) -> {
-                    return o2.size() - o1.size();
-                });
-                mostManyBundle = bundles.get(0);
-                int size = mostManyBundle.size();
-
-                //위에서 뽑은 덩어리에서 조각 하나 뽑기
-                int randomIdx = puzzle.random(size-1);
-                List<Integer> setToList = new LinkedList<>();
-                for (Piece p : mostManyBundle) {
-                    setToList.add(p.getIndex());
-                }
-                Piece target = puzzle.getBoard()[puzzle.getIdxToCoordinate().get(setToList.get(randomIdx))[0]][puzzle.getIdxToCoordinate().get(setToList.get(randomIdx))[1]];
-
-                targets.add(target.getIndex());
+                //조각 개수가 가장 많은 덩어리에서 조각 하나 뽑기
+                List<Integer> setToList = puzzle.getBundleMembers(mostManyBundlePiece);
+                int size = setToList.size();
+                int randomIdx = size > 1 ? puzzle.random(size-1) : 0;
+                int target = setToList.get(randomIdx);
 
-                if (setToList.contains(target.getCorrectBottomIndex())) {
-                    targets.add(target.getCorrectBottomIndex());
-                }
-
-                if (setToList.contains(target.getCorrectTopIndex())) {
-                    targets.add(target.getCorrectTopIndex());
-                }
+                targets.add(target);
 
-                if (setToList.contains(target.getCorrectLeftIndex())) {
-                    targets.add(target.getCorrectLeftIndex());
-                }
-
-                if (setToList.contains(target.getCorrectRightIndex())) {
-                    targets.add(target.getCorrectRightIndex());
+                //하 상 좌 우 순서로 같은 뭉탱이인 주변 조각
+                for (int dir : new int[] {2, 0, 3, 1}) {
+                    int near = puzzle.getCorrectIndex(target, dir);
+                    if (puzzle.isSameBundle(target, near)) {
+                        targets.add(near);
+                    }
                 }
 
                 for (int targetIdx : targets) {
                     puzzle.deletePiece(targetIdx);
                 }
 
-                System.out.println("불 지르기 효과 대상 : " + targets);
-
-                puzzle.searchForGroupDisbandment();
+                puzzle.searchForGroupDisbandment(targets);
                 break;
         }
         return targets;
@@ -0,0 +1,86 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import com.ssafy.puzzlepop.engine.InGameMessage;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//틱 사이에 들어온 드래그, 커서 모아두기
+//드래그는 판에 바로 적용하고 움직인 조각 번호만 기록 (위치는 보낼 때 판에서 읽으므로 조각마다 마지막 위치만 나감)
+//커서는 유저마다 마지막 위치만 남김
+//방 명령 큐에서만 접근
+public class MoveBuffer {
+    private final Map<String, Drag> drags = new LinkedHashMap<>();
+    private final Map<String, Cursor> cursors = new LinkedHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile boolean pending;
+
+    @Getter
+    public static class Drag {
+        private final String sender;
+        private final String team;
+        private final BitSet pieces = new BitSet();
+
+        private Drag(String sender, String team) {
+            this.sender = sender;
+            this.team = team;
+        }
+    }
+
+    @Getter
+    public static class Cursor {
+        private final String sender;
+        private final boolean member;
+        private float x;
+        private float y;
+        private InGameMessage source; //JSON 으로 들어온 커서면 받은 메시지 그대로 (기존 클라이언트에게 그대로 에코)
+
+        private Cursor(String sender, boolean member) {
+            this.sender = sender;
+            this.member = member;
+        }
+    }
+
+    //보낸 사람의 드래그 기록, 움직인 조각 번호를 반환된 BitSet 에 표시
+    public BitSet drag(String sender, String team) {
+        pending = true;
+        return drags.computeIfAbsent(sender, s -> new Drag(s, team)).pieces;
+    }
+
+    public void cursor(String sender, boolean member, float x, float y, InGameMessage source) {
+        pending = true;
+        Cursor cursor = cursors.computeIfAbsent(sender, s -> new Cursor(s, member));
+        cursor.x = x;
+        cursor.y = y;
+        cursor.source = source;
+    }
+
+    //다른 스레드(틱 스케줄러)에서 보내야 할 게 있는지 확인용
+    public boolean isPending() {
+        return pending;
+    }
+
+    //틱 작업이 이미 방 명령 큐에 들어가 있으면 false
+    public boolean tryScheduleFlush() {
+        return flushScheduled.compareAndSet(false, true);
+    }
+
+    public void flushed() {
+        flushScheduled.set(false);
+    }
+
+    public List<Drag> drainDrags() {
+        List<Drag> list = new ArrayList<>(drags.values());
+        drags.clear();
+        pending = !cursors.isEmpty();
+        return list;
+    }
+
+    public List<Cursor> drainCursors() {
+        List<Cursor> list = new ArrayList<>(cursors.values());
+        cursors.clear();
+        pending = !drags.isEmpty();
+        return list;
+    }
+}
@@ -24,13 +24,19 @@ public class Picture {
     private int lengthPieceCnt;
     private Map<Integer, Integer> levelSize;
 
-    private String encodedString;
+    private String encodedString; //기본 사진 파일 이름 (업로드 사진은 imageUrl 사용)
+    private String contentHash; //사진 파일 내용 해시
+    private String imageUrl; //사진을 받을 주소 (/image/asset/{contentHash})
+    private String thumbnailUrl; //로비용 썸네일 주소
+
     //사진 업로드의 경우
-    public void create(int width, int length, String name, int pieceSize, String encodedString) {
+    //사진 데이터는 담지 않고 주소만 (방 정보를 보낼 때마다 사진이 같이 나가지 않도록)
+    public void create(int width, int length, String name, int pieceSize, String contentHash, String imageUrl) {
         this.width = width;
         this.length = length;
         this.name = name;
-        this.encodedString = encodedString;
+        this.contentHash = contentHash;
+        this.imageUrl = imageUrl;
 
         this.pieceSize = pieceSize;
         this.levelSize = new HashMap<>();
@@ -0,0 +1,20 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+//변경분 전송용 조각 상태
+//조각 모양, 정답 위치 인덱스처럼 안 바뀌는 정보는 전체 정보(Game)에서만 보냄
+@Getter @Setter @ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PieceState {
+    private int index;
+    private double x;
+    private double y;
+    private boolean corrected;
+    private boolean locked;
+    private int bundle; //뭉탱이 번호 (뭉탱이 루트 조각 인덱스), 뭉탱이에 없으면 -1
+    private Item item;
+}
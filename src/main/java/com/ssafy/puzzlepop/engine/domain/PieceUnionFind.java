@@ -0,0 +1,202 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import java.util.BitSet;
+
+//조각 뭉탱이 관리용 서로소 집합(union-find)
+//조각의 고유 인덱스를 그대로 노드 번호로 사용
+//경로 압축(path halving) + 크기 기준 합치기로 결합은 거의 O(1)
+//같은 뭉탱이의 조각들은 원형 연결 리스트(next)로 이어져 있어서 뭉탱이 순회는 O(뭉탱이 크기)
+public class PieceUnionFind {
+    private final int[] parent; //-1 이면 어떤 뭉탱이에도 속하지 않은 조각
+    private final int[] size; //루트에서만 유효한 뭉탱이 크기
+    private final int[] next; //같은 뭉탱이 조각들을 잇는 원형 연결 리스트
+
+    private int pieceCount; //뭉탱이에 속한 조각 수
+    private int bundleCount; //뭉탱이 수
+    private int modCount; //구조가 바뀔 때마다 증가 (뭉탱이 목록 캐시 무효화용)
+    private final BitSet changed; //마지막 drainChanged 이후 루트(뭉탱이 번호)가 바뀌었을 수 있는 조각들
+
+    public PieceUnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        next = new int[n];
+        changed = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            parent[i] = -1;
+            next[i] = i;
+        }
+    }
+
+    public boolean contains(int p) {
+        return parent[p] != -1;
+    }
+
+    //p가 속한 뭉탱이의 루트
+    public int find(int p) {
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    //아직 뭉탱이에 없는 조각이면 혼자인 뭉탱이로 추가
+    public void add(int p) {
+        if (contains(p)) {
+            return;
+        }
+
+        parent[p] = p;
+        size[p] = 1;
+        next[p] = p;
+        changed.set(p);
+        pieceCount++;
+        bundleCount++;
+        modCount++;
+    }
+
+    //두 조각의 뭉탱이를 합치고 합쳐진 뭉탱이의 루트 반환
+    public int union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return ra;
+        }
+
+        if (size[ra] < size[rb]) {
+            int tmp = ra;
+            ra = rb;
+            rb = tmp;
+        }
+
+        //작은 쪽 조각들만 루트가 바뀜
+        markBundle(rb);
+        parent[rb] = ra;
+        size[ra] += size[rb];
+
+        //원형 리스트 두 개 잇기
+        int tmp = next[ra];
+        next[ra] = next[rb];
+        next[rb] = tmp;
+
+        bundleCount--;
+        modCount++;
+        return ra;
+    }
+
+    //뭉탱이에서 조각 하나 빼기
+    //남은 조각들은 새 루트 아래로 다시 묶음 (O(뭉탱이 크기))
+    public void remove(int p) {
+        if (!contains(p)) {
+            return;
+        }
+
+        int bundleSize = size[find(p)];
+        markBundle(p);
+        if (bundleSize == 1) {
+            parent[p] = -1;
+            next[p] = p;
+            pieceCount--;
+            bundleCount--;
+            modCount++;
+            return;
+        }
+
+        int newRoot = next[p];
+        int prev = newRoot;
+        int q = next[newRoot];
+        parent[newRoot] = newRoot;
+        while (q != p) {
+            parent[q] = newRoot;
+            prev = q;
+            q = next[q];
+        }
+        next[prev] = newRoot;
+        size[newRoot] = bundleSize - 1;
+
+        parent[p] = -1;
+        next[p] = p;
+        pieceCount--;
+        modCount++;
+    }
+
+    //p가 속한 뭉탱이 전체 해체
+    public void dissolve(int p) {
+        if (!contains(p)) {
+            return;
+        }
+
+        int root = find(p);
+        markBundle(root);
+        int q = root;
+        do {
+            int nextQ = next[q];
+            parent[q] = -1;
+            next[q] = q;
+            q = nextQ;
+        } while (q != root);
+
+        pieceCount -= size[root];
+        bundleCount--;
+        modCount++;
+    }
+
+    private void markBundle(int p) {
+        int q = p;
+        do {
+            changed.set(q);
+            q = next[q];
+        } while (q != p);
+    }
+
+    //루트가 바뀌었을 수 있는 조각들을 into 에 모으고 비움
+    public void drainChanged(BitSet into) {
+        into.or(changed);
+        changed.clear();
+    }
+
+    public boolean isSameBundle(int a, int b) {
+        if (a < 0 || b < 0 || !contains(a) || !contains(b)) {
+            return false;
+        }
+
+        return find(a) == find(b);
+    }
+
+    //p가 속한 뭉탱이 크기, 뭉탱이에 없으면 0
+    public int sizeOf(int p) {
+        return contains(p) ? size[find(p)] : 0;
+    }
+
+    //같은 뭉탱이의 다음 조각
+    public int next(int p) {
+        return next[p];
+    }
+
+    //가장 큰 뭉탱이의 루트, 뭉탱이가 없으면 -1
+    public int largestRoot() {
+        int best = -1;
+        for (int i = 0; i < parent.length; i++) {
+            if (parent[i] == i && (best == -1 || size[i] > size[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public boolean isRoot(int p) {
+        return parent[p] == p;
+    }
+
+    public int getPieceCount() {
+        return pieceCount;
+    }
+
+    public int getBundleCount() {
+        return bundleCount;
+    }
+
+    public int getModCount() {
+        return modCount;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ssafy.puzzlepop.engine.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import com.ssafy.puzzlepop.engine.log.GameEventType;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -11,15 +14,38 @@ import java.util.*;
 @NoArgsConstructor
 public class PuzzleBoard {
     private Picture picture; //퍼즐에 쓰이는 사진
-    private HashMap<Integer, int[]> idxToCoordinate; //고유 인덱스에 따른 2차원 배열(board)에서의 좌표 정보
-
-    //0번째는 정답지, 1번쨰는 현재 조각 위치
-    private Piece[][] board; //조각들이 들어있는 2차원 배열
     private int pieceSize; //조각 크기
     private int widthCnt; //조각 수에 따른 가로 조각 개수
     private int lengthCnt; //조각 수에 따른 세로 조각 개수
-    private List<Set<Piece>> bundles = Collections.synchronizedList(new LinkedList<>()); //조합된 퍼즐 뭉탱이들
-    private boolean[][] isCorrected; //조합된 퍼즐인지 확인하는 2차원 배열
+    @JsonIgnore
+    private PieceUnionFind unionFind; //조합된 퍼즐 뭉탱이들 (조각 고유 인덱스 기반 union-find)
+    @JsonIgnore
+    private List<Set<Piece>> bundleCache; //getBundles() 결과 캐시
+    @JsonIgnore
+    private int bundleCacheModCount = -1;
+
+    //조각 정보는 고유 인덱스로 바로 접근하는 배열들에 나눠서 저장
+    //고유 인덱스 -> 판 좌표는 계산으로 구함 (행 = 인덱스 / widthCnt, 열 = 인덱스 % widthCnt)
+    @JsonIgnore
+    private double[] x; //조각 x 좌표
+    @JsonIgnore
+    private double[] y; //조각 y 좌표
+    @JsonIgnore
+    private byte[] edgeTypes; //조각 모양 (인덱스 * 4 + 방향(상 우 하 좌))
+    @JsonIgnore
+    private BitSet corrected; //조합된 조각
+    @JsonIgnore
+    private BitSet locked; //누군가 잡고 있는 조각
+    @JsonIgnore
+    private Item[] pieceItems; //조각에 들어있는 아이템
+
+    //변경분(delta) 전송용
+    //revision 은 drainDelta 로 변경분을 내보낼 때마다 1씩 증가, 전체 정보(Game) 응답에도 같이 실림
+    private long revision;
+    @JsonIgnore
+    private BitSet dirty; //마지막 drainDelta 이후 바뀐 조각들
+    @JsonIgnore
+    private boolean itemListDirty; //마지막 drainDelta 이후 아이템 목록이 바뀌었는지
     private int correctedCount; //현재까지 맞춘 개수
     private boolean isCompleted = false;
 
@@ -33,14 +59,23 @@ public class PuzzleBoard {
 
     private Item[] itemList = new Item[5];
     private int itemCount = 0;
-    private boolean[][] visited;
+    @JsonIgnore
+    private int[] visitMark; //뭉탱이 재탐색용 방문 표시 (visitStamp 값과 같으면 방문)
+    @JsonIgnore
+    private int[] bundleMark; //뭉탱이 재탐색에서 이미 펼친 뭉탱이 루트 표시
+    @JsonIgnore
+    private int visitStamp;
+    @JsonIgnore
+    private int[] searchQueue; //뭉탱이 재탐색용 큐 겸 탐색 범위 목록
+    @JsonIgnore
+    private int[] componentQueue; //뭉탱이 재결합용 큐
 
     private final int CANVAS_WIDTH = 1000;
     private final int CANVAS_LENGTH = 750;
 
     public Item addItem(ItemType type) {
         if (itemCount >= 5) {
-            System.out.println("아이템 추가 실패");
+            GameEventLog.log(GameEventType.ITEM_ADD_FAILED, "item", type);
             return null;
         }
 
@@ -49,10 +84,11 @@ public class PuzzleBoard {
             if (itemList[i] == null) {
                 itemList[i] = item;
                 itemCount++;
+                itemListDirty = true;
+                GameEventLog.log(GameEventType.ITEM_ADD, "item", type, "slot", i + 1);
                 break;
             }
         }
-        System.out.println("아이템 추가 성공");
         return item;
     }
 
@@ -60,6 +96,7 @@ public class PuzzleBoard {
         Item tmp = itemList[from];
         itemList[from] = itemList[to];
         itemList[to] = tmp;
+        itemListDirty = true;
     }
 
     public List<Integer> useRandomItem(DropItem item, PuzzleBoard puzzle) {
@@ -68,14 +105,15 @@ public class PuzzleBoard {
 
     public List<Integer> useItem(int itemNumber, PuzzleBoard puzzle) {
         if (itemList[itemNumber-1] == null) {
-            System.out.println("아이템 사용 실패 : 없음");
+            GameEventLog.log(GameEventType.ITEM_USE_FAILED, "slot", itemNumber);
             return null;
         }
 
-        System.out.println("아이템 사용 : " + itemList[itemNumber-1]);
+        GameEventLog.log(GameEventType.ITEM_USE, "item", itemList[itemNumber-1].getName(), "slot", itemNumber);
         List<Integer> targets = itemList[itemNumber-1].run(puzzle);
         itemList[itemNumber-1] = null;
         itemCount--;
+        itemListDirty = true;
 
         return targets;
     }
@@ -93,136 +131,53 @@ public class PuzzleBoard {
         lengthCnt = p.getLengthPieceCnt();
 
         //퍼즐 조각 초기화
-        //고유 인덱스 할당
-        //고유 인덱스로 정답 판별할 수 있도록, 상하좌우 주변 퍼즐에 대한 고유 인덱스 정보를 포함하여 초기화
-        board = new Piece[lengthCnt][widthCnt];
-        isCorrected = new boolean[lengthCnt][widthCnt];
-        idxToCoordinate = new HashMap<>();
-
-        boolean[] randomVisited = new boolean[widthCnt * lengthCnt];
-        int cnt = 0;
-        for (int i = 0; i < lengthCnt; i++) {
-            for (int j = 0; j < widthCnt; j++) {
-                board[i][j] = new Piece(cnt);
-
-                idxToCoordinate.put(cnt, new int[]{i, j});
-
-                if (cnt+1 >= widthCnt*(i+1)) {
-                    board[i][j].setCorrectRightIndex(-1);
-                } else {
-                    board[i][j].setCorrectRightIndex(cnt+1);
-                }
-
-                if (cnt-1 < i*widthCnt) {
-                    board[i][j].setCorrectLeftIndex(-1);
-                } else {
-                    board[i][j].setCorrectLeftIndex(cnt-1);
-                }
-
-                if (cnt-widthCnt < 0) {
-                    board[i][j].setCorrectTopIndex(-1);
-                } else {
-                    board[i][j].setCorrectTopIndex(cnt-widthCnt);
-                }
-
-                if (cnt+widthCnt >= widthCnt*lengthCnt) {
-                    board[i][j].setCorrectBottomIndex(-1);
-                } else {
-                    board[i][j].setCorrectBottomIndex(cnt+widthCnt);
-                }
-
-                cnt++;
-            }
-        }
+        //고유 인덱스 = 행 * widthCnt + 열
+        //상하좌우 주변 조각의 고유 인덱스도 계산으로 구함 (getCorrectIndex)
+        int n = widthCnt * lengthCnt;
+        x = new double[n];
+        y = new double[n];
+        edgeTypes = new byte[n * 4];
+        corrected = new BitSet(n);
+        locked = new BitSet(n);
+        pieceItems = new Item[n];
+        dirty = new BitSet(n);
+        revision = 0;
+        unionFind = new PieceUnionFind(n);
+        bundleCache = null;
 
         //퍼즐 생성 알고리즘 적용
-        //조각의 타입 = new int[4]
-        //인덱스 0 : 상, 인덱스 1 : 우, 인덱스 2 : 하, 인덱스 3 : 좌
+        //조각의 타입 = edgeTypes[인덱스 * 4 + 방향]
+        //방향 0 : 상, 방향 1 : 우, 방향 2 : 하, 방향 3 : 좌
         //값 0 : 평면, 값 1 : 들어간 형태, 값 2 : 튀어나온 형태
+        boolean[] randomVisited = new boolean[n];
         for (int i = 0; i < lengthCnt; i++) {
             for (int j = 0; j < widthCnt; j++) {
-                Piece now = board[i][j];
-                int[] type = new int[4];
+                int now = (i * widthCnt + j) * 4;
+                int left = now - 4;
+                int up = now - widthCnt * 4;
 
-                //상단 변
+                //위쪽은 상단 변이면 평면, 아니면 위 조각의 아래쪽과 맞물리는 모양
                 if (i == 0) {
-                    //좌상단 꼭짓점
-                    if (j == 0) {
-                        type[TOP] = 0;
-                        type[LEFT] = 0;
-                        type[RIGHT] = random(2);
-                        type[BOTTOM] = random(2);
-                    }
-                    //우상단 꼭짓점
-                    else if (j == widthCnt-1) {
-                        type[TOP] = 0;
-                        type[RIGHT] = 0;
-                        type[BOTTOM] = random(2);
-                        type[LEFT] = board[i][j-1].getType()[1] == 2 ? 1 : 2;
-                    }
-                    //그 외 변
-                    else {
-                        type[TOP] = 0;
-                        type[RIGHT] = random(2);
-                        type[BOTTOM] = random(2);
-                        type[LEFT] = board[i][j-1].getType()[1] == 2 ? 1 : 2;
-                    }
-                }
-                //하단 변
-                else if (i == lengthCnt-1) {
-                    //좌하단 꼭짓점
-                    if (j == 0) {
-                        type[TOP] = board[i-1][j].getType()[2] == 2 ? 1 : 2;
-                        type[RIGHT] = random(2);
-                        type[BOTTOM] = 0;
-                        type[LEFT] = 0;
-                    }
-                    //우하단 꼭짓점
-                    else if (j == widthCnt-1) {
-                        type[TOP] = board[i-1][j].getType()[2] == 2 ? 1 : 2;
-                        type[RIGHT] = 0;
-                        type[BOTTOM] = 0;
-                        type[LEFT] = board[i][j-1].getType()[1] == 2 ? 1 : 2;
-                    }
-                    //그 외 변
-                    else {
-                        type[TOP] = board[i-1][j].getType()[2] == 2 ? 1 : 2;
-                        type[RIGHT] = random(2);
-                        type[BOTTOM] = 0;
-                        type[LEFT] = board[i][j-1].getType()[1] == 2 ? 1 : 2;
-                    }
-                }
-
-                //꼭짓점을 제외한 좌측 변
-                else if (j == 0) {
-                    type[TOP] = board[i-1][j].getType()[2] == 2 ? 1 : 2;
-                    type[RIGHT] = random(2);
-                    type[BOTTOM] = random(2);
-                    type[LEFT] = 0;
-                }
-
-                //꼭짓점을 제외한 우측 변
-                else if (j == widthCnt-1) {
-                    type[TOP] = board[i-1][j].getType()[2] == 2 ? 1 : 2;
-                    type[RIGHT] = 0;
-                    type[BOTTOM] = random(2);
-                    type[LEFT] = board[i][j-1].getType()[1] == 2 ? 1 : 2;
+                    edgeTypes[now + TOP] = 0;
+                } else {
+                    edgeTypes[now + TOP] = (byte) (edgeTypes[up + BOTTOM] == 2 ? 1 : 2);
                 }
 
-                //그 외 가운데 부분
-                else {
-                    type[TOP] = board[i-1][j].getType()[2] == 2 ? 1 : 2;
-                    type[RIGHT] = random(2);
-                    type[BOTTOM] = random(2);
-                    type[LEFT] = board[i][j-1].getType()[1] == 2 ? 1 : 2;
+                //왼쪽은 좌측 변이면 평면, 아니면 왼쪽 조각의 오른쪽과 맞물리는 모양
+                if (j == 0) {
+                    edgeTypes[now + LEFT] = 0;
+                } else {
+                    edgeTypes[now + LEFT] = (byte) (edgeTypes[left + RIGHT] == 2 ? 1 : 2);
                 }
 
-                now.setType(type);
+                //오른쪽, 아래쪽은 우측 변, 하단 변이면 평면, 아니면 랜덤
+                edgeTypes[now + RIGHT] = (byte) (j == widthCnt-1 ? 0 : random(2));
+                edgeTypes[now + BOTTOM] = (byte) (i == lengthCnt-1 ? 0 : random(2));
 
-                int idx = random(picture.getLengthPieceCnt() * picture.getWidthPieceCnt())-1;
+                int idx = random(n)-1;
                 while (true) {
                     if (randomVisited[idx]) {
-                        idx = random(picture.getLengthPieceCnt()*picture.getWidthPieceCnt())-1;
+                        idx = random(n)-1;
                         continue;
                     } else {
                         randomVisited[idx] = true;
@@ -230,215 +185,347 @@ public class PuzzleBoard {
                     }
                 }
 
-                Piece randomForPiece = board[idxToCoordinate.get(idx)[0]][idxToCoordinate.get(idx)[1]];
-                double x =
+                x[idx] =
                         CANVAS_WIDTH/2 -
                                 pieceSize/2 +
                                 pieceSize * ((j*2) + (i % 2)) -
                                 picture.getImgWidth() + 50;
-                double y =
+                y[idx] =
                         CANVAS_LENGTH/2 -
                                 pieceSize/2 +
                                 pieceSize*i -
                                 picture.getImgHeight()/2;
-
-                randomForPiece.setPosition_x(x);
-                randomForPiece.setPosition_y(y);
             }
         }
 
-        for (int i = 0; i < lengthCnt; i++) {
-            for (int j = 0; j < widthCnt; j++) {
-                for (int k = 0; k < 4; k++) {
-                    if (board[i][j].getType()[k] == 1) {
-                        board[i][j].getType()[k] = -1;
-                    } else if (board[i][j].getType()[k] == 2) {
-                        board[i][j].getType()[k] = 1;
-                    }
+        //랜덤 아이템 확률 부여
+        Random random = new Random();
+        for (int idx = 0; idx < n; idx++) {
+            for (int k = 0; k < 4; k++) {
+                if (edgeTypes[idx * 4 + k] == 1) {
+                    edgeTypes[idx * 4 + k] = -1;
+                } else if (edgeTypes[idx * 4 + k] == 2) {
+                    edgeTypes[idx * 4 + k] = 1;
                 }
+            }
 
-                //랜덤 아이템 확률 부여
-                Random random = new Random();
-                int possibility = random.nextInt(100);
-                if (possibility <= 30) {
-                    if (gameType.equals("COOPERATION")) {
-                        board[i][j].setItem(Item.randomCreateForCooperation());
-                    } else if (gameType.equals("BATTLE")) {
-                        board[i][j].setItem(Item.randomCreateForBattle());
-                    }
+            int possibility = random.nextInt(100);
+            if (possibility <= 30) {
+                if (gameType.equals("COOPERATION")) {
+                    pieceItems[idx] = Item.randomCreateForCooperation();
+                } else if (gameType.equals("BATTLE")) {
+                    pieceItems[idx] = Item.randomCreateForBattle();
                 }
             }
         }
 
         addItem(ItemType.FRAME);
         correctedCount = 0;
-        return board;
+        return getBoard();
     }
 
     //퍼즐 조각 결합 짜기
     //파라미터 정보(pieceList) : 게임 관련 소켓에서 결합하는 조각들을 하나의 리스트로 만들어서 파라미터로 입력
     public void addPiece(List<Integer> pieceList) {
-        //이번 결합으로 생기는 조각 뭉탱이들
-        Set<Piece> set = new HashSet<>();
+        //이번 결합으로 생기는 뭉탱이의 루트
+        int root = -1;
 
         //입력받은 조각들 탐색
-        for (int i = 0; i < pieceList.size(); i++) {
-            //고유 인덱스를 통해 해당 piece 찾기
-            int pieceIdx = pieceList.get(i);
+        for (int pieceIdx : pieceList) {
             if (pieceIdx == -1) {
                 continue;
             }
 
-            Piece x = board[idxToCoordinate.get(pieceIdx)[0]][idxToCoordinate.get(pieceIdx)[1]];
-
-            //해당 조각이 이미 어느 집합에 소속되어 있다면
-            //그 뭉탱이 집합 삭제
-            for (int j = bundles.size()-1; j >= 0; j--) {
-                if (bundles.get(j).contains(x)) {
-                    set.addAll(bundles.get(j));
-                    bundles.remove(j);
-                }
-            }
-
             //결합됨을 표시
-            isCorrected[idxToCoordinate.get(pieceIdx)[0]][idxToCoordinate.get(pieceIdx)[1]] = true;
+            corrected.set(pieceIdx);
+            dirty.set(pieceIdx);
 
-            if (board[idxToCoordinate.get(pieceIdx)[0]][idxToCoordinate.get(pieceIdx)[1]].getItem() != null) {
-                Item item = board[idxToCoordinate.get(pieceIdx)[0]][idxToCoordinate.get(pieceIdx)[1]].getItem();
-                board[idxToCoordinate.get(pieceIdx)[0]][idxToCoordinate.get(pieceIdx)[1]].setItem(null);
+            if (pieceItems[pieceIdx] != null) {
+                Item item = pieceItems[pieceIdx];
+                pieceItems[pieceIdx] = null;
                 addItem(item.getName());
             }
 
-            //이번 결합 뭉탱이에 추가
-            set.add(x);
+            //해당 조각이 이미 어느 뭉탱이에 소속되어 있다면 그 뭉탱이째로 합쳐짐
+            unionFind.add(pieceIdx);
+            root = root == -1 ? unionFind.find(pieceIdx) : unionFind.union(root, pieceIdx);
         }
 
-        //뭉탱이들 리스트에 이번 결합을 통해 나온 뭉탱이 추가
-        bundles.add(set);
         updatePieceCount();
 
-        if (correctedCount == widthCnt*lengthCnt && bundles.size() == 1) {
-            for (int i = 0; i < lengthCnt; i++) {
-                for (int j = 0; j < widthCnt; j++) {
-                    if (!isCorrected[i][j]) {
-                        return;
-                    }
-                }
-            }
+        if (correctedCount == widthCnt*lengthCnt && unionFind.getBundleCount() == 1) {
             isCompleted = true;
-            System.out.println("게임 끝!");
+            GameEventLog.log(GameEventType.PUZZLE_COMPLETE, "pieces", correctedCount);
         }
     }
 
     public void updatePieceCount() {
-        int cnt = 0;
-        for (Set<Piece> bundle : bundles) {
-            cnt += bundle.size();
+        correctedCount = unionFind.getPieceCount();
+    }
+
+    //조합된 퍼즐 뭉탱이들
+    //union-find에서 바로 만들어 쓰고, 구조가 바뀌기 전까지는 캐시된 목록을 돌려줌
+    public List<Set<Piece>> getBundles() {
+        if (unionFind == null) {
+            return Collections.emptyList();
+        }
+
+        //조각 위치가 바뀌면 bundleCache 는 null 로 비워짐
+        if (bundleCache == null || bundleCacheModCount != unionFind.getModCount()) {
+            List<Set<Piece>> list = new ArrayList<>(unionFind.getBundleCount());
+            for (int i = 0; i < widthCnt * lengthCnt; i++) {
+                if (unionFind.isRoot(i)) {
+                    list.add(getBundleOf(i));
+                }
+            }
+
+            bundleCache = Collections.unmodifiableList(list);
+            bundleCacheModCount = unionFind.getModCount();
         }
 
-        correctedCount = cnt;
+        return bundleCache;
+    }
+
+    //조각이 속한 뭉탱이의 조각 인덱스들, 뭉탱이에 없으면 빈 리스트
+    public List<Integer> getBundleMembers(int pieceIdx) {
+        List<Integer> members = new ArrayList<>(unionFind.sizeOf(pieceIdx));
+        if (!unionFind.contains(pieceIdx)) {
+            return members;
+        }
+
+        int q = pieceIdx;
+        do {
+            members.add(q);
+            q = unionFind.next(q);
+        } while (q != pieceIdx);
+
+        return members;
+    }
+
+    //가장 큰 뭉탱이에 속한 아무 조각, 뭉탱이가 없으면 -1
+    public int getLargestBundlePiece() {
+        return unionFind.largestRoot();
+    }
+
+    public boolean isSameBundle(int a, int b) {
+        return unionFind.isSameBundle(a, b);
+    }
+
+    private Set<Piece> getBundleOf(int pieceIdx) {
+        Set<Piece> set = new HashSet<>();
+        for (int idx : getBundleMembers(pieceIdx)) {
+            set.add(getPiece(idx));
+        }
+        return set;
     }
 
 
     //결합된 조각 삭제
     public double[] deletePiece(int targetIdx) {
-        int r = idxToCoordinate.get(targetIdx)[0];
-        int c = idxToCoordinate.get(targetIdx)[1];
-        if (!isCorrected[r][c])
+        if (!corrected.get(targetIdx))
             return null;
-        isCorrected[r][c] = false;
-
-        for (Set<Piece> bundle : bundles) {
-            for (Iterator<Piece> it = bundle.iterator(); it.hasNext();) {
-                Piece p = it.next();
-                if (p.getIndex() == targetIdx) {
-                    it.remove();
-                    isCorrected[r][c] = false;
-                    updatePieceCount();
-                    return randomArrange(p.getIndex());
-                }
-            }
+        corrected.clear(targetIdx);
+        dirty.set(targetIdx);
+
+        unionFind.remove(targetIdx);
+        updatePieceCount();
+        return randomArrange(targetIdx);
+    }
+
+    //조각이 속한 뭉탱이 통째로 해체
+    //해체된 조각들은 랜덤 위치로 흩어짐
+    public List<Integer> deleteBundle(int pieceIdx) {
+        List<Integer> targets = getBundleMembers(pieceIdx);
+        unionFind.dissolve(pieceIdx);
+        for (int idx : targets) {
+            corrected.clear(idx);
+            dirty.set(idx);
+            randomArrange(idx);
         }
 
-        return null;
+        updatePieceCount();
+        return targets;
     }
 
+    //뭉탱이 해체 확인 (판 전체)
     public void searchForGroupDisbandment() {
-        visited = new boolean[lengthCnt][widthCnt];
-        bundles = new LinkedList<>();
+        int n = widthCnt * lengthCnt;
+        int[] seeds = new int[n];
+        for (int i = 0; i < n; i++) {
+            seeds[i] = i;
+        }
 
-        for (int i = 0; i < lengthCnt; i++) {
-            for (int j = 0; j < widthCnt; j++) {
-                if (isCorrected[i][j] && !visited[i][j]) {
-                    visited[i][j] = true;
-                    Set<Piece> set = new HashSet<>();
-                    set.add(board[i][j]);
-                    set = dfsForSearch(i, j, set);
-
-                    if (set.size() == 1) {
-                        deletePiece(board[i][j].getIndex());
-                    } else {
-                        bundles.add(set);
+        disband(seeds, n);
+    }
+
+    //뭉탱이 해체 확인
+    //파라미터 : 이번에 결합/삭제된 조각들
+    //바뀐 조각들 주변과 그 조각들이 속한 뭉탱이만 다시 나눔
+    public void searchForGroupDisbandment(List<Integer> changedPieces) {
+        int[] seeds = new int[changedPieces.size()];
+        int cnt = 0;
+        for (int idx : changedPieces) {
+            if (idx != -1) {
+                seeds[cnt++] = idx;
+            }
+        }
+
+        disband(seeds, cnt);
+    }
+
+    private void disband(int[] seeds, int seedCount) {
+        int n = widthCnt * lengthCnt;
+        if (searchQueue == null) {
+            visitMark = new int[n];
+            bundleMark = new int[n];
+            searchQueue = new int[n];
+            componentQueue = new int[n];
+        }
+
+        //1. 탐색 범위 구하기
+        //바뀐 조각과 맞닿은 결합 조각들에서 시작해서
+        //상하좌우로 붙어있는 결합 조각 + 같은 뭉탱이 조각들을 모두 포함할 때까지 넓힘
+        int stamp = nextVisitStamp();
+        int cnt = 0;
+        for (int i = 0; i < seedCount; i++) {
+            int seed = seeds[i];
+            cnt = mark(seed, stamp, cnt);
+            for (int dir = 0; dir < 4; dir++) {
+                cnt = mark(getCorrectIndex(seed, dir), stamp, cnt);
+            }
+        }
+
+        for (int head = 0; head < cnt; head++) {
+            int idx = searchQueue[head];
+            for (int dir = 0; dir < 4; dir++) {
+                cnt = mark(getCorrectIndex(idx, dir), stamp, cnt);
+            }
+
+            if (unionFind.contains(idx)) {
+                int root = unionFind.find(idx);
+                if (bundleMark[root] != stamp) {
+                    bundleMark[root] = stamp;
+                    int q = unionFind.next(idx);
+                    while (q != idx) {
+                        cnt = mark(q, stamp, cnt);
+                        q = unionFind.next(q);
                     }
                 }
             }
         }
-    }
 
+        //2. 범위 안의 뭉탱이들은 모두 해체 (범위가 뭉탱이 단위로 닫혀 있으므로 바깥 뭉탱이는 영향 없음)
+        for (int i = 0; i < cnt; i++) {
+            unionFind.dissolve(searchQueue[i]);
+        }
 
-    int[] dx = {1,-1,0,0};
-    int[] dy = {0,0,-1,1};
-    public Set dfsForSearch(int r, int c, Set<Piece> set) {
-        for (int i = 0; i < 4; i++) {
-            int nr = r + dx[i];
-            int nc = c + dy[i];
+        //3. 범위 안에서 상하좌우로 이어진 조각들끼리 다시 뭉탱이로 묶기
+        int componentStamp = nextVisitStamp();
+        for (int i = 0; i < cnt; i++) {
+            int start = searchQueue[i];
+            if (visitMark[start] == componentStamp) {
+                continue;
+            }
 
-            if (nr >= 0 && nc >= 0 && nr < lengthCnt && nc < widthCnt) {
-                if (isCorrected[nr][nc] && !visited[nr][nc]) {
-                    visited[nr][nc] = true;
-                    set.add(board[nr][nc]);
-                    dfsForSearch(nr, nc, set);
+            visitMark[start] = componentStamp;
+            unionFind.add(start);
+            componentQueue[0] = start;
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int idx = componentQueue[head];
+                for (int dir = 0; dir < 4; dir++) {
+                    int nextIdx = getCorrectIndex(idx, dir);
+                    if (nextIdx != -1 && isCorrectedPiece(nextIdx) && visitMark[nextIdx] != componentStamp) {
+                        visitMark[nextIdx] = componentStamp;
+                        unionFind.add(nextIdx);
+                        unionFind.union(start, nextIdx);
+                        componentQueue[tail++] = nextIdx;
+                    }
                 }
             }
+
+            //혼자 남은 조각은 결합 해제 (위치는 그대로)
+            if (tail == 1) {
+                unionFind.remove(start);
+                setCorrectedPiece(start, false);
+            }
         }
 
-        return set;
+        updatePieceCount();
     }
 
+    //맞춘 조각이고 아직 탐색 범위에 없으면 범위 목록에 추가
+    private int mark(int idx, int stamp, int cnt) {
+        if (idx == -1 || !isCorrectedPiece(idx) || visitMark[idx] == stamp) {
+            return cnt;
+        }
+
+        visitMark[idx] = stamp;
+        searchQueue[cnt] = idx;
+        return cnt + 1;
+    }
+
+    //dir 방향(TOP, RIGHT, BOTTOM, LEFT)으로 맞닿아야 하는 조각의 고유 인덱스, 없으면 -1
+    public int getCorrectIndex(int idx, int dir) {
+        int r = idx / widthCnt;
+        int c = idx % widthCnt;
+        switch (dir) {
+            case TOP:
+                return r > 0 ? idx - widthCnt : -1;
+            case RIGHT:
+                return c < widthCnt - 1 ? idx + 1 : -1;
+            case BOTTOM:
+                return r < lengthCnt - 1 ? idx + widthCnt : -1;
+            default:
+                return c > 0 ? idx - 1 : -1;
+        }
+    }
+
+    public boolean isCorrectedPiece(int idx) {
+        return corrected.get(idx);
+    }
+
+    private void setCorrectedPiece(int idx, boolean value) {
+        corrected.set(idx, value);
+        dirty.set(idx);
+    }
+
+    private int nextVisitStamp() {
+        //한 바퀴 돌면 표시 초기화
+        if (++visitStamp == Integer.MAX_VALUE) {
+            visitStamp = 1;
+            Arrays.fill(visitMark, 0);
+            Arrays.fill(bundleMark, 0);
+        }
+        return visitStamp;
+    }
 
     //콤보 효과 작동
     //파라미터 : 콤보가 터질 조각 뭉탱이
     public List<int[]> combo(List<Integer> pieceList, int comboCnt) {
-        //4방 탐색용
-        //상 우 하 좌
-        int[] dx = {-1,0,1,0};
-        int[] dy = {0,1,0,-1};
-
         //입력받은 뭉탱이 주변 조각들(콤보 효과로 달라붙을 수 있는 조건을 가진 조각들)
 
         Map<Integer, int[]> choiceSet = new HashMap<>();
+        Set<Integer> searchedRoots = new HashSet<>();
         for (int pieceIdx : pieceList) {
-            Piece x = board[idxToCoordinate.get(pieceIdx)[0]][idxToCoordinate.get(pieceIdx)[1]];
-            for (Set<Piece> bundle : bundles) {
-                if (bundle.contains(x)) {
-                    for (Piece p : bundle) {
-                        int[] xy = idxToCoordinate.get(p.getIndex());
-
-                        for (int i = 0; i < 4; i++) {
-                            int nr = xy[0]+dx[i];
-                            int nc = xy[1]+dy[i];
-
-                            if (nr >= 0 && nc >= 0 && nr < lengthCnt && nc < widthCnt) {
-                                if (!isCorrected[nr][nc]) {
-                                    choiceSet.put(board[nr][nc].getIndex(), new int[] {board[xy[0]][xy[1]].getIndex(), i});
-                                }
-                            }
-                        }
-                    }
+            if (pieceIdx == -1 || !unionFind.contains(pieceIdx)) {
+                continue;
+            }
 
-                }
+            //같은 뭉탱이는 한 번만 탐색
+            if (!searchedRoots.add(unionFind.find(pieceIdx))) {
+                continue;
             }
 
+            //4방 탐색 (상 우 하 좌)
+            for (int idx : getBundleMembers(pieceIdx)) {
+                for (int i = 0; i < 4; i++) {
+                    int nextIdx = getCorrectIndex(idx, i);
+                    if (nextIdx != -1 && !corrected.get(nextIdx)) {
+                        choiceSet.put(nextIdx, new int[] {idx, i});
+                    }
+                }
+            }
         }
 
         if (choiceSet.isEmpty()) {
@@ -483,7 +570,7 @@ public class PuzzleBoard {
         System.out.println("퍼즐 판 정보");
 //        for (int i = 0; i < lengthCnt; i++) {
 //            for (int j = 0; j < widthCnt; j++) {
-//                System.out.print(board[i][j].getIndex() + " ");
+//                System.out.print((i*widthCnt + j) + " ");
 //            }
 //            System.out.println();
 //        }
@@ -491,15 +578,13 @@ public class PuzzleBoard {
         System.out.println("맞춰진 조각 정보");
         for (int i = 0; i < lengthCnt; i++) {
             for (int j = 0; j < widthCnt; j++) {
-                System.out.print(isCorrected[i][j] + " ");
+                System.out.print(corrected.get(i*widthCnt + j) + " ");
             }
             System.out.println();
         }
 
         System.out.println("조각 뭉탱이들 정보");
-        for (Set<Piece> set : bundles) {
-            if (set == null)
-                continue;
+        for (Set<Piece> set : getBundles()) {
             System.out.println(set);
         }
 
@@ -509,11 +594,144 @@ public class PuzzleBoard {
     }
 
     public double[] randomArrange(int pieceIdx) {
-        int r = idxToCoordinate.get(pieceIdx)[0];
-        int c = idxToCoordinate.get(pieceIdx)[1];
-        board[r][c].setPosition_x(random(CANVAS_WIDTH));
-        board[r][c].setPosition_y(random(CANVAS_LENGTH));
-        return new double[]{board[r][c].getPosition_x(), board[r][c].getPosition_y()};
+        movePiece(pieceIdx, random(CANVAS_WIDTH), random(CANVAS_LENGTH));
+        return new double[]{x[pieceIdx], y[pieceIdx]};
+    }
+
+    public double getX(int pieceIdx) {
+        return x[pieceIdx];
+    }
+
+    public double getY(int pieceIdx) {
+        return y[pieceIdx];
+    }
+
+    public void movePiece(int pieceIdx, double posX, double posY) {
+        x[pieceIdx] = posX;
+        y[pieceIdx] = posY;
+        dirty.set(pieceIdx);
+
+        //뭉탱이 목록에 들어간 조각이면 캐시된 위치가 달라지므로 비움
+        if (unionFind.contains(pieceIdx)) {
+            bundleCache = null;
+        }
+    }
+
+    public boolean isLocked(int pieceIdx) {
+        return locked.get(pieceIdx);
+    }
+
+    public void setLocked(int pieceIdx, boolean value) {
+        locked.set(pieceIdx, value);
+        dirty.set(pieceIdx);
+        if (unionFind.contains(pieceIdx)) {
+            bundleCache = null;
+        }
+    }
+
+    //조각 모양 (방향 : TOP, RIGHT, BOTTOM, LEFT / 값 0 : 평면, -1 : 들어간 형태, 1 : 튀어나온 형태)
+    public int getEdgeType(int pieceIdx, int dir) {
+        return edgeTypes[pieceIdx * 4 + dir];
+    }
+
+    public Item getPieceItem(int pieceIdx) {
+        return pieceItems[pieceIdx];
+    }
+
+    //조각 하나를 Piece 객체로 만들어서 반환 (응답 메시지용 스냅샷, 수정해도 판에는 반영되지 않음)
+    public Piece getPiece(int pieceIdx) {
+        Piece piece = new Piece(pieceIdx);
+        piece.setCorrectTopIndex(getCorrectIndex(pieceIdx, TOP));
+        piece.setCorrectRightIndex(getCorrectIndex(pieceIdx, RIGHT));
+        piece.setCorrectBottomIndex(getCorrectIndex(pieceIdx, BOTTOM));
+        piece.setCorrectLeftIndex(getCorrectIndex(pieceIdx, LEFT));
+        piece.setType(new int[] {
+                edgeTypes[pieceIdx * 4 + TOP],
+                edgeTypes[pieceIdx * 4 + RIGHT],
+                edgeTypes[pieceIdx * 4 + BOTTOM],
+                edgeTypes[pieceIdx * 4 + LEFT]
+        });
+        piece.setPosition_x(x[pieceIdx]);
+        piece.setPosition_y(y[pieceIdx]);
+        piece.setLocked(locked.get(pieceIdx));
+        piece.setItem(pieceItems[pieceIdx]);
+        return piece;
+    }
+
+    //마지막 호출 이후 바뀐 조각들과 아이템 목록만 모아서 반환
+    //바뀐 게 없으면 revision 은 그대로 (fromRevision == toRevision)
+    public BoardDelta drainDelta() {
+        unionFind.drainChanged(dirty);
+
+        BoardDelta delta = new BoardDelta();
+        delta.setFromRevision(revision);
+        delta.setCorrectedCount(correctedCount);
+        delta.setPieces(new ArrayList<>(dirty.cardinality()));
+        if (dirty.isEmpty() && !itemListDirty) {
+            delta.setToRevision(revision);
+            return delta;
+        }
+
+        for (int idx = dirty.nextSetBit(0); idx >= 0; idx = dirty.nextSetBit(idx + 1)) {
+            delta.getPieces().add(new PieceState(
+                    idx,
+                    x[idx],
+                    y[idx],
+                    corrected.get(idx),
+                    locked.get(idx),
+                    unionFind.contains(idx) ? unionFind.find(idx) : -1,
+                    pieceItems[idx]
+            ));
+        }
+
+        if (itemListDirty) {
+            delta.setItemList(itemList.clone());
+        }
+
+        dirty.clear();
+        itemListDirty = false;
+        delta.setToRevision(++revision);
+        return delta;
+    }
+
+    //기존 2차원 배열 형태 호환용 (JSON 응답 모양 유지)
+    //호출할 때마다 새로 만들어지므로 게임 로직에서는 인덱스 기반 메서드를 사용
+    public Piece[][] getBoard() {
+        if (x == null) {
+            return null;
+        }
+
+        Piece[][] board = new Piece[lengthCnt][widthCnt];
+        for (int i = 0; i < lengthCnt; i++) {
+            for (int j = 0; j < widthCnt; j++) {
+                board[i][j] = getPiece(i*widthCnt + j);
+            }
+        }
+        return board;
+    }
+
+    public boolean[][] getIsCorrected() {
+        if (corrected == null) {
+            return null;
+        }
+
+        boolean[][] isCorrected = new boolean[lengthCnt][widthCnt];
+        for (int idx = corrected.nextSetBit(0); idx >= 0; idx = corrected.nextSetBit(idx + 1)) {
+            isCorrected[idx / widthCnt][idx % widthCnt] = true;
+        }
+        return isCorrected;
+    }
+
+    public HashMap<Integer, int[]> getIdxToCoordinate() {
+        if (x == null) {
+            return null;
+        }
+
+        HashMap<Integer, int[]> idxToCoordinate = new HashMap<>();
+        for (int idx = 0; idx < widthCnt * lengthCnt; idx++) {
+            idxToCoordinate.put(idx, new int[]{idx / widthCnt, idx % widthCnt});
+        }
+        return idxToCoordinate;
     }
 
     public int random(int range) {
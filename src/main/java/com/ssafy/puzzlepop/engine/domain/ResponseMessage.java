@@ -30,4 +30,6 @@ public class ResponseMessage {
     private Item[] blueItemList;
     private List<Set<Piece>> redBundles;
     private List<Set<Piece>> blueBundles;
+    private BoardDelta redDelta;
+    private BoardDelta blueDelta;
 }
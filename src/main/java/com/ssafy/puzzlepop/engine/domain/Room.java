@@ -11,4 +11,5 @@ public class Room {
     private GameType type;
     private int roomSize;
     private String gameType;
+    private boolean deltaSync; //true 면 게임 중 응답에 퍼즐 판 변경분(BoardDelta)만 보냄
 }
@@ -0,0 +1,14 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//직렬화까지 끝난 로비 방 목록 한 페이지
+//version 은 만들 때의 RoomRegistry 타입별 버전, 달라지면 다시 만듦
+@Getter
+@AllArgsConstructor
+public class RoomListing {
+    private final long version;
+    private final byte[] body;
+    private final String etag;
+}
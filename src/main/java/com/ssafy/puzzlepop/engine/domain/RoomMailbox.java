@@ -0,0 +1,68 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//방 하나의 명령 큐
+//들어온 순서대로 한 번에 하나씩만 실행되므로 방 상태(Game, PuzzleBoard)는 락 없이 다룸
+//실행은 공용 스레드 풀에서 하므로 서로 다른 방은 병렬로 처리됨
+@Slf4j
+public class RoomMailbox {
+    //한 번 잡은 스레드에서 연속으로 처리할 최대 명령 수 (다른 방 굶주림 방지)
+    private static final int BATCH_SIZE = 64;
+
+    private final Executor executor;
+    private final String roomId; //게임 이벤트 로그의 방 id (로비 큐는 null)
+    private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    public RoomMailbox(Executor executor, String roomId) {
+        this.executor = executor;
+        this.roomId = roomId;
+    }
+
+    public void submit(Task task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        GameEventLog.enterRoom(roomId);
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Task task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("방 명령 처리 실패", e);
+                }
+            }
+        } finally {
+            GameEventLog.exitRoom();
+            scheduled.set(false);
+            //처리하는 동안 새로 들어온 명령이 있으면 다시 예약
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//메모리에 있는 게임 방 목록
+//방 번호로 찾기 + 게임 타입별, 상태별, 상태+타입별 색인 (모두 생성 순서로 정렬되어 있어서 최근 생성 순으로 바로 꺼낼 수 있음)
+//방마다 로비용 요약(RoomSummary)을 들고 있고, 타입별 버전으로 목록이 바뀌었는지 확인
+//읽기는 락 없이, 등록/삭제/상태 변경만 동기화
+public class RoomRegistry {
+    public enum State {
+        WAITING, STARTED, FINISHED
+    }
+
+    private static class Entry {
+        private final Game game;
+        private final long seq; //생성 순서
+        private State state;
+        private volatile RoomSummary summary;
+
+        private Entry(Game game, long seq, State state) {
+            this.game = game;
+            this.seq = seq;
+            this.state = state;
+            this.summary = RoomSummary.of(game);
+        }
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentNavigableMap<Long, Game>> byType = new ConcurrentHashMap<>();
+    private final Map<State, ConcurrentNavigableMap<Long, Game>> byState = new EnumMap<>(State.class);
+    private final Map<State, Map<String, ConcurrentNavigableMap<Long, Game>>> byStateAndType = new EnumMap<>(State.class);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public RoomRegistry() {
+        for (State state : State.values()) {
+            byState.put(state, new ConcurrentSkipListMap<>());
+            byStateAndType.put(state, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static State stateOf(Game game) {
+        if (game.isFinished()) {
+            return State.FINISHED;
+        }
+        return game.isStarted() ? State.STARTED : State.WAITING;
+    }
+
+    public synchronized void add(Game game) {
+        Entry entry = new Entry(game, sequence.incrementAndGet(), stateOf(game));
+        Entry old = byId.put(game.getGameId(), entry);
+        if (old != null) {
+            unindex(old);
+        }
+
+        byType.computeIfAbsent(game.getGameType(), t -> new ConcurrentSkipListMap<>()).put(entry.seq, game);
+        indexState(entry);
+        bump(game.getGameType());
+    }
+
+    public synchronized Game remove(String gameId) {
+        Entry entry = byId.remove(gameId);
+        if (entry == null) {
+            return null;
+        }
+
+        unindex(entry);
+        bump(entry.game.getGameType());
+        return entry.game;
+    }
+
+    //입장, 퇴장, 시작, 종료, 사진 변경 후 호출해서 상태 색인, 요약 갱신
+    public synchronized void refresh(Game game) {
+        Entry entry = byId.get(game.getGameId());
+        if (entry == null || entry.game != game) {
+            return;
+        }
+
+        State state = stateOf(game);
+        if (state != entry.state) {
+            unindexState(entry);
+            entry.state = state;
+            indexState(entry);
+        }
+        entry.summary = RoomSummary.of(game);
+        bump(game.getGameType());
+    }
+
+    private void bump(String gameType) {
+        versions.computeIfAbsent(gameType, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    //타입별 목록이 바뀔 때마다 올라감
+    public long version(String gameType) {
+        AtomicLong version = versions.get(gameType);
+        return version == null ? 0 : version.get();
+    }
+
+    private void unindex(Entry entry) {
+        Map<Long, Game> type = byType.get(entry.game.getGameType());
+        if (type != null) {
+            type.remove(entry.seq);
+        }
+        unindexState(entry);
+    }
+
+    private void indexState(Entry entry) {
+        byState.get(entry.state).put(entry.seq, entry.game);
+        byStateAndType.get(entry.state).computeIfAbsent(entry.game.getGameType(), t -> new ConcurrentSkipListMap<>()).put(entry.seq, entry.game);
+    }
+
+    private void unindexState(Entry entry) {
+        byState.get(entry.state).remove(entry.seq);
+        Map<Long, Game> stateType = byStateAndType.get(entry.state).get(entry.game.getGameType());
+        if (stateType != null) {
+            stateType.remove(entry.seq);
+        }
+    }
+
+    public Game get(String gameId) {
+        Entry entry = byId.get(gameId);
+        return entry == null ? null : entry.game;
+    }
+
+    public boolean contains(String gameId) {
+        return byId.containsKey(gameId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    //전체 방 (생성 순서 상관 없음)
+    public Collection<Game> all() {
+        List<Game> result = new ArrayList<>(byId.size());
+        for (Entry entry : byId.values()) {
+            result.add(entry.game);
+        }
+        return result;
+    }
+
+    //최근 생성 순으로 타입이 같은 방들, 결과 크기만큼만 순회
+    public List<Game> findByType(String gameType, int page, int size) {
+        ConcurrentNavigableMap<Long, Game> rooms = byType.get(gameType);
+        if (rooms == null) {
+            return new ArrayList<>();
+        }
+        return slice(rooms.descendingMap().values(), page, size);
+    }
+
+    //최근 생성 순으로 상태가 같은 방들, gameType 이 있으면 그 타입만 (결과 크기만큼만 순회)
+    public List<Game> findByState(State state, String gameType, int page, int size) {
+        ConcurrentNavigableMap<Long, Game> rooms = gameType == null ? byState.get(state) : byStateAndType.get(state).get(gameType);
+        if (rooms == null) {
+            return new ArrayList<>();
+        }
+        return slice(rooms.descendingMap().values(), page, size);
+    }
+
+    //최근 생성 순으로 타입이 같은 방들의 요약
+    public List<RoomSummary> findSummariesByType(String gameType, int page, int size) {
+        List<Game> rooms = findByType(gameType, page, size);
+        List<RoomSummary> result = new ArrayList<>(rooms.size());
+        for (Game game : rooms) {
+            Entry entry = byId.get(game.getGameId());
+            if (entry != null && entry.game == game) {
+                result.add(entry.summary);
+            }
+        }
+        return result;
+    }
+
+    public int countByState(State state) {
+        return byState.get(state).size();
+    }
+
+    public int countByType(String gameType) {
+        ConcurrentNavigableMap<Long, Game> rooms = byType.get(gameType);
+        return rooms == null ? 0 : rooms.size();
+    }
+
+    //size 가 0 이하면 전부
+    private static List<Game> slice(Collection<Game> rooms, int page, int size) {
+        long skip = size > 0 ? (long) page * size : 0;
+        List<Game> result = new ArrayList<>(size > 0 ? size : 16);
+        for (Game game : rooms) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(game);
+            if (size > 0 && result.size() == size) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//로비 방 목록용 요약 (퍼즐 판, 세션, 사진 데이터 없이)
+//한 번 만들면 바뀌지 않음, 방 상태가 바뀌면 새로 만들어서 교체
+@Getter
+@AllArgsConstructor
+public class RoomSummary {
+    private final String gameId;
+    private final String gameName;
+    private final String gameType;
+    private final int roomSize;
+    private final int occupancy;
+    private final boolean started;
+    private final Long pictureId;
+    private final String pictureUrl;
+    private final String encodedString; //주소가 없는 기본 사진의 파일 이름 (이전 로비 화면과 같은 이름)
+
+    public static RoomSummary of(Game game) {
+        int occupancy = game.getRedTeam().getPlayers().size() + game.getBlueTeam().getPlayers().size();
+        Picture picture = game.getPicture();
+        Long pictureId = picture == null ? null : picture.getId();
+        String pictureUrl = picture == null ? null : picture.getThumbnailUrl() != null ? picture.getThumbnailUrl() : picture.getImageUrl();
+        String encodedString = picture == null || pictureUrl != null ? null : picture.getEncodedString();
+
+        return new RoomSummary(game.getGameId(), game.getGameName(), game.getGameType(), game.getRoomSize(),
+                occupancy, game.isStarted(), pictureId, pictureUrl, encodedString);
+    }
+}
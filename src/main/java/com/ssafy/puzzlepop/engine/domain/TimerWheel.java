@@ -0,0 +1,83 @@
+package com.ssafy.puzzlepop.engine.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+//한 칸이 한 틱인 해시 타이머 휠
+//등록은 O(1), 틱마다 현재 칸만 확인하므로 등록된 게 많아도 한 틱 비용은 그 칸에 든 것만큼
+//칸 수보다 먼 시점은 바퀴 수(rounds)로 표시해서 한 바퀴 돌 때마다 하나씩 줄임
+//대상 하나당 등록은 하나만 유지 (다시 등록하면 이전 등록은 취소)
+public class TimerWheel<T> {
+    private final List<Entry<T>>[] slots;
+    private final Map<T, Entry<T>> pending = new HashMap<>();
+    private long tick;
+
+    private static class Entry<T> {
+        private final T target;
+        private long rounds;
+        private boolean cancelled;
+
+        private Entry(T target, long rounds) {
+            this.target = target;
+            this.rounds = rounds;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int size) {
+        slots = new List[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new LinkedList<>();
+        }
+    }
+
+    //지금부터 delay 틱 뒤에 한 번 꺼내짐 (최소 1틱)
+    public synchronized void schedule(T target, long delay) {
+        delay = Math.max(delay, 1);
+        long at = tick + delay;
+        Entry<T> entry = new Entry<>(target, (delay - 1) / slots.length);
+        slots[(int) (at % slots.length)].add(entry);
+        cancel(pending.put(target, entry));
+    }
+
+    //칸에서 바로 빼지 않고 표시만 해 두고 그 칸 차례에 버림
+    public synchronized void cancel(T target) {
+        cancel(pending.remove(target));
+    }
+
+    private void cancel(Entry<T> entry) {
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    //한 틱 진행하고 이번 틱에 만료된 것들 반환
+    public synchronized List<T> advance() {
+        tick++;
+        List<T> expired = new ArrayList<>();
+        Iterator<Entry<T>> it = slots[(int) (tick % slots.length)].iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next();
+            if (entry.cancelled) {
+                it.remove();
+                continue;
+            }
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                continue;
+            }
+            expired.add(entry.target);
+            pending.remove(entry.target, entry);
+            it.remove();
+        }
+        return expired;
+    }
+
+    public synchronized long getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ssafy.puzzlepop.engine.log;
+
+//게임 이벤트 로그 (JSON 한 줄씩, GameEventRing 참고)
+//도메인 객체(PuzzleBoard, Item 등)에서도 바로 부를 수 있도록 정적 메서드로 둠
+//시작 전(스프링 없이 돌리는 벤치마크 등)이나 꺼져 있으면 아무것도 하지 않음
+//방 id 는 방 명령 큐(RoomMailbox)가 실행 중인 방으로 채움, 큐 밖에서는 logRoom 으로 직접 넘김
+//값은 기록 스레드에서 문자열로 바꾸므로 기록한 뒤에 바뀌지 않는 것만 넘길 것 (문자열, 숫자, enum, 다 만든 리스트)
+public final class GameEventLog {
+    private static final ThreadLocal<String> ROOM = new ThreadLocal<>();
+    private static volatile GameEventRing ring;
+
+    private GameEventLog() {
+    }
+
+    public static void start(GameEventRing eventRing) {
+        ring = eventRing;
+    }
+
+    public static void stop() {
+        ring = null;
+    }
+
+    //방 명령 큐에서 명령 실행 전후로 호출
+    public static void enterRoom(String roomId) {
+        ROOM.set(roomId);
+    }
+
+    public static void exitRoom() {
+        ROOM.remove();
+    }
+
+    public static void log(GameEventType type) {
+        publish(ROOM.get(), type, null, null, null, null, null, null);
+    }
+
+    public static void log(GameEventType type, String key, Object value) {
+        publish(ROOM.get(), type, key, value, null, null, null, null);
+    }
+
+    public static void log(GameEventType type, String key1, Object value1, String key2, Object value2) {
+        publish(ROOM.get(), type, key1, value1, key2, value2, null, null);
+    }
+
+    public static void log(GameEventType type, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        publish(ROOM.get(), type, key1, value1, key2, value2, key3, value3);
+    }
+
+    public static void logRoom(String roomId, GameEventType type, String key1, Object value1, String key2, Object value2) {
+        publish(roomId, type, key1, value1, key2, value2, null, null);
+    }
+
+    public static void logRoom(String roomId, GameEventType type, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        publish(roomId, type, key1, value1, key2, value2, key3, value3);
+    }
+
+    private static void publish(String room, GameEventType type, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        GameEventRing current = ring;
+        if (current != null) {
+            current.publish(room, type, key1, value1, key2, value2, key3, value3);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ssafy.puzzlepop.engine.log;
+
+import com.ssafy.puzzlepop.engine.service.GameMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+//게임 이벤트 로그 설정, 시작/종료
+//game.event-log.enabled  : 끄면 로그 호출이 바로 돌아감 (기본 true)
+//game.event-log.capacity : 링 버퍼 칸 수 (기본 65536)
+//game.event-log.file     : 비어 있으면 표준 출력, 있으면 그 파일 끝에 이어서 씀
+//game.event-log.sample.{GameEventType} : N 개 중 하나만 기록
+@Component
+public class GameEventLogStarter {
+    private final boolean enabled;
+    private final int capacity;
+    private final String file;
+    private final Environment environment;
+    private final GameMetrics gameMetrics;
+
+    private GameEventRing ring;
+    private PrintStream out;
+
+    public GameEventLogStarter(@Value("${game.event-log.enabled:true}") boolean enabled,
+                               @Value("${game.event-log.capacity:65536}") int capacity,
+                               @Value("${game.event-log.file:}") String file,
+                               Environment environment, GameMetrics gameMetrics) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.file = file;
+        this.environment = environment;
+        this.gameMetrics = gameMetrics;
+    }
+
+    @PostConstruct
+    private void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        GameEventType[] types = GameEventType.values();
+        int[] sampleEvery = new int[types.length];
+        for (GameEventType type : types) {
+            sampleEvery[type.ordinal()] = environment.getProperty("game.event-log.sample." + type.name(), Integer.class, type.getSampleEvery());
+        }
+
+        out = file.isEmpty() ? System.out : new PrintStream(new FileOutputStream(file, true), false, StandardCharsets.UTF_8);
+        ring = new GameEventRing(capacity, sampleEvery, out);
+        ring.start();
+        GameEventLog.start(ring);
+        gameMetrics.gauge("game.event-log.dropped", "버퍼가 가득 차서 버린 게임 이벤트 수", ring::getDropped);
+    }
+
+    @PreDestroy
+    private void stop() throws InterruptedException {
+        if (ring == null) {
+            return;
+        }
+
+        GameEventLog.stop();
+        ring.stop();
+        if (out != System.out) {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.ssafy.puzzlepop.engine.log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+//게임 이벤트 링 버퍼 + 기록 스레드
+//방 스레드는 칸 하나를 잡아서 값만 넣고 바로 돌아감 (문자열 만들기, 출력은 기록 스레드에서)
+//버퍼가 가득 차면 기다리지 않고 버림, 버린 개수는 LOG_DROPPED 이벤트로 남김
+//한 줄에 JSON 하나, 여러 줄을 모아서 한 번에 출력
+public class GameEventRing {
+    private static final int BATCH_CHARS = 32 * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    //칸을 잡은 방 스레드가 값을 넣기 전에 멈춘 경우(선점 등) 이만큼 돌고 나면 잠깐씩 쉬면서 기다림
+    private static final int SPIN_LIMIT = 100;
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final class Slot {
+        private volatile long sequence = -1; //값을 다 넣은 뒤 기록하는 칸 번호 (기록 스레드는 이 값으로 확인)
+        private long time;
+        private String room;
+        private GameEventType type;
+        private String key1;
+        private Object value1;
+        private String key2;
+        private Object value2;
+        private String key3;
+        private Object value3;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int[] sampleEvery;
+    private final PrintStream out;
+    private final AtomicLong next = new AtomicLong(); //다음에 잡을 칸 번호
+    private volatile long consumed; //이 번호 앞의 칸은 다 기록해서 다시 써도 됨
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    //capacity 는 2의 거듭제곱으로 올림
+    public GameEventRing(int capacity, int[] sampleEvery, PrintStream out) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.sampleEvery = sampleEvery.clone();
+        this.out = out;
+    }
+
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "game-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    //남은 이벤트까지 쓰고 종료
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    //샘플링에서 빠지거나 버퍼가 가득 차면 false
+    boolean publish(String room, GameEventType type, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        int every = sampleEvery[type.ordinal()];
+        if (every <= 0 || (every > 1 && ThreadLocalRandom.current().nextInt(every) != 0)) {
+            return false;
+        }
+
+        long seq;
+        do {
+            seq = next.get();
+            if (seq - consumed >= slots.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!next.compareAndSet(seq, seq + 1));
+
+        Slot slot = slots[(int) seq & mask];
+        slot.time = System.currentTimeMillis();
+        slot.room = room;
+        slot.type = type;
+        slot.key1 = key1;
+        slot.value1 = value1;
+        slot.key2 = key2;
+        slot.value2 = value2;
+        slot.key3 = key3;
+        slot.value3 = value3;
+        slot.sequence = seq;
+        return true;
+    }
+
+    private void drain() {
+        StringBuilder batch = new StringBuilder(BATCH_CHARS + 1024);
+        long seq = consumed;
+        long reportedDrops = 0;
+        int spins = 0;
+        while (running || seq < next.get()) {
+            Slot slot = slots[(int) seq & mask];
+            if (slot.sequence != seq) {
+                if (seq < next.get()) {
+                    //칸은 잡혔는데 아직 값을 넣는 중
+                    if (++spins <= SPIN_LIMIT) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(WAIT_PARK_NANOS);
+                    }
+                    continue;
+                }
+
+                reportedDrops = reportDrops(batch, reportedDrops);
+                flush(batch);
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            format(batch, slot.time, slot.room, slot.type, slot.key1, slot.value1, slot.key2, slot.value2, slot.key3, slot.value3);
+            slot.room = null;
+            slot.value1 = null;
+            slot.value2 = null;
+            slot.value3 = null;
+            consumed = ++seq;
+            spins = 0;
+
+            if (batch.length() >= BATCH_CHARS) {
+                flush(batch);
+            }
+        }
+        reportDrops(batch, reportedDrops);
+        flush(batch);
+    }
+
+    private long reportDrops(StringBuilder batch, long reported) {
+        long total = dropped.get();
+        if (total > reported) {
+            format(batch, System.currentTimeMillis(), null, GameEventType.LOG_DROPPED, "count", total - reported, null, null, null, null);
+        }
+        return total;
+    }
+
+    //줄 단위로만 나가도록 모은 것을 한 번에 출력
+    private void flush(StringBuilder batch) {
+        if (batch.length() == 0) {
+            return;
+        }
+        out.print(batch);
+        out.flush();
+        batch.setLength(0);
+    }
+
+    private static void format(StringBuilder line, long time, String room, GameEventType type,
+                               String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(time)).append('"');
+        if (room != null) {
+            line.append(",\"room\":");
+            appendString(line, room);
+        }
+        line.append(",\"event\":\"").append(type.name()).append('"');
+        appendField(line, key1, value1);
+        appendField(line, key2, value2);
+        appendField(line, key3, value3);
+        line.append("}\n");
+    }
+
+    private static void appendField(StringBuilder line, String key, Object value) {
+        if (key == null) {
+            return;
+        }
+        line.append(",\"").append(key).append("\":");
+        appendValue(line, value);
+    }
+
+    private static void appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+        } else if (value instanceof Collection) {
+            line.append('[');
+            boolean first = true;
+            for (Object item : (Collection<?>) value) {
+                if (!first) {
+                    line.append(',');
+                }
+                appendValue(line, item);
+                first = false;
+            }
+            line.append(']');
+        } else if (value instanceof int[]) {
+            int[] array = (int[]) value;
+            line.append('[');
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(array[i]);
+            }
+            line.append(']');
+        } else {
+            appendString(line, String.valueOf(value));
+        }
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,38 @@
+package com.ssafy.puzzlepop.engine.log;
+
+import lombok.Getter;
+
+//게임 이벤트 로그 종류
+//sampleEvery : N 개 중 하나만 기록 (1 이면 전부, 0 이면 끔), game.event-log.sample.{종류} 로 바꿀 수 있음
+@Getter
+public enum GameEventType {
+    ROOM_CREATE(1),
+    ROOM_DELETE(1),
+    ENTER(1),
+    ENTER_REJECTED(1),
+    EXIT(1),
+    EXIT_IGNORED(1),
+    ADMIN_CHANGE(1),
+    GAME_START(1),
+    PUZZLE_COMPLETE(1),
+    SAVE_REQUESTED(1),
+    COMMAND_IGNORED(10),
+    UNKNOWN_COMMAND(1),
+    ADD_PIECE(1),
+    COMBO(1),
+    UNLOCK(20),
+    ITEM_ADD(1),
+    ITEM_ADD_FAILED(1),
+    ITEM_USE(1),
+    ITEM_USE_FAILED(10),
+    ITEM_RUN(1),
+    SAVE_OVERFLOW(1),
+    SAVE_FAILED(1),
+    LOG_DROPPED(1);
+
+    private final int sampleEvery;
+
+    GameEventType(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ssafy.puzzlepop.engine.service;
+
+import com.ssafy.puzzlepop.engine.domain.Game;
+import com.ssafy.puzzlepop.engine.domain.TimerWheel;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//게임 시계
+//시작한 게임만 들고 있으므로 대기 중인 방은 매 초 스캔에 들어가지 않음
+//배틀 종료 시각은 시작할 때 타이머 휠에 한 번만 등록
+@Component
+public class GameClock {
+    public static final int BATTLE_TIMER = 303;
+
+    //1시간까지의 {"time":n} 은 미리 만들어 두고 재사용
+    private static final int FRAME_CACHE_SIZE = 3600;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Set<Game> running = ConcurrentHashMap.newKeySet();
+    private final TimerWheel<Game> deadlines = new TimerWheel<>(WHEEL_SIZE);
+    private final byte[][] timeFrames = new byte[FRAME_CACHE_SIZE][];
+
+    public GameClock() {
+        for (int i = 0; i < FRAME_CACHE_SIZE; i++) {
+            timeFrames[i] = encode(i);
+        }
+    }
+
+    public void start(Game game) {
+        if (running.add(game) && game.getGameType().equals("BATTLE")) {
+            //남은 시간 0 까지는 보내고 그 다음 초에 종료
+            deadlines.schedule(game, BATTLE_TIMER + 1);
+        }
+    }
+
+    public void stop(Game game) {
+        running.remove(game);
+        deadlines.cancel(game);
+    }
+
+    public Collection<Game> getRunning() {
+        return running;
+    }
+
+    //1초 진행, 종료 시각이 된 배틀 반환 (그 전에 멈춘 게임은 빼고)
+    //퍼즐을 다 맞춰 먼저 끝난 배틀도 이때 방 정리를 하므로 그대로 돌려줌
+    public List<Game> advance() {
+        List<Game> expired = deadlines.advance();
+        expired.removeIf(game -> !running.contains(game));
+        return expired;
+    }
+
+    //스케줄러가 밀려서 아직 시간이 남았으면 다시 등록
+    public void delay(Game game, long seconds) {
+        deadlines.schedule(game, seconds);
+    }
+
+    public byte[] timeFrame(long time) {
+        if (time >= 0 && time < FRAME_CACHE_SIZE) {
+            return timeFrames[(int) time];
+        }
+        return encode(time);
+    }
+
+    private static byte[] encode(long time) {
+        return ("{\"time\":" + time + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
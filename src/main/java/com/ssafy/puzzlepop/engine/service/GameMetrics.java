@@ -0,0 +1,142 @@
+package com.ssafy.puzzlepop.engine.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+//게임 엔진, STOMP 브로커 지표 (/actuator/prometheus 로 노출)
+//태그 값은 정해진 목록 안에서만 씀 (방 id, 유저 id 처럼 계속 늘어나는 값은 태그로 쓰지 않음)
+@Component
+public class GameMetrics {
+    private static final Set<String> PLAY_TYPES = Set.of("ADD_PIECE", "USE_ITEM", "USE_RANDOM_ITEM", "MOUSE_DOWN", "MOUSE_UP", "MOUSE_DRAG");
+    private static final String OTHER = "OTHER";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer[]> playTimers = new ConcurrentHashMap<>(); //type -> {성공, 실패}
+    private final Map<String, DistributionSummary> broadcastSizes = new ConcurrentHashMap<>();
+    private final Map<String, Timer> schedulerDrifts = new ConcurrentHashMap<>();
+    private final Map<String, Timer> schedulerLags = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastRuns = new ConcurrentHashMap<>();
+    private final Timer saveSuccess;
+    private final Timer saveFailure;
+    private final Counter saveRetries;
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.saveSuccess = saveTimer("success");
+        this.saveFailure = saveTimer("error");
+        this.saveRetries = Counter.builder("game.save.retries")
+                .description("게임 결과 저장 재시도 횟수")
+                .register(registry);
+    }
+
+    //GameService.playGame 메시지 종류별 처리 시간
+    public void recordPlay(String message, boolean success, long nanos) {
+        String type = message != null && PLAY_TYPES.contains(message) ? message : OTHER;
+        Timer[] timers = playTimers.computeIfAbsent(type, t -> new Timer[]{playTimer(t, "success"), playTimer(t, "error")});
+        timers[success ? 0 : 1].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    //브로커로 나가는 메시지 하나의 크기 (구독자 수와 상관없이 한 번)
+    public void recordBroadcast(String destination, int bytes) {
+        String kind = destinationKind(destination);
+        broadcastSizes.computeIfAbsent(kind, k -> DistributionSummary.builder("game.broadcast.size")
+                        .description("방 토픽으로 보내는 메시지 크기")
+                        .baseUnit("bytes")
+                        .tag("destination", k)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(bytes);
+    }
+
+    //@Scheduled 작업이 예정보다 늦게 시작한 시간 (고정 주기 기준)
+    public void recordSchedulerRun(String task, long periodMillis) {
+        long now = System.nanoTime();
+        Long last = lastRuns.put(task, now);
+        if (last == null) {
+            return;
+        }
+
+        long drift = Math.max(0, now - last - TimeUnit.MILLISECONDS.toNanos(periodMillis));
+        schedulerDrifts.computeIfAbsent(task, t -> schedulerTimer("game.scheduler.drift", "예약 작업 시작 지연", t))
+                .record(drift, TimeUnit.NANOSECONDS);
+    }
+
+    //@Scheduled 작업이 방 명령 큐에 넣은 일이 실제로 실행되기까지 걸린 시간 (바쁜 방일수록 김)
+    public void recordSchedulerLag(String task, long scheduledNanos) {
+        schedulerLags.computeIfAbsent(task, t -> schedulerTimer("game.scheduler.lag", "예약 작업이 방에서 실행되기까지 걸린 시간", t))
+                .record(System.nanoTime() - scheduledNanos, TimeUnit.NANOSECONDS);
+    }
+
+    //게임 결과 한 번 저장 시도
+    public void recordSave(boolean success, long nanos) {
+        (success ? saveSuccess : saveFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countSaveRetry() {
+        saveRetries.increment();
+    }
+
+    //값은 수집할 때마다 supplier 로 읽음, tags 는 key, value 순서
+    public void gauge(String name, String description, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value)
+                .description(description)
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    // /topic/game/room/{id}[/binary|/resync/{user}], /topic/game/room/quick/{user}, /topic/chat/room/{id}
+    static String destinationKind(String destination) {
+        if (destination == null) {
+            return OTHER;
+        }
+        if (destination.startsWith("/topic/game/room/quick/")) {
+            return "quick";
+        }
+        if (destination.startsWith("/topic/game/room/")) {
+            if (destination.endsWith("/binary")) {
+                return "binary";
+            }
+            return destination.contains("/resync/") ? "resync" : "room";
+        }
+        if (destination.startsWith("/topic/chat/room/")) {
+            return "chat";
+        }
+        return OTHER;
+    }
+
+    private Timer playTimer(String type, String outcome) {
+        return Timer.builder("game.play")
+                .description("게임 메시지 처리 시간")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer schedulerTimer(String name, String description, String task) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("task", task)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer saveTimer(String outcome) {
+        return Timer.builder("game.save")
+                .description("게임 결과 저장 시간 (한 번 시도)")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
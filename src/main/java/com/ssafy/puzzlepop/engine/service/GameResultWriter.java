@@ -0,0 +1,283 @@
+package com.ssafy.puzzlepop.engine.service;
+
+import com.ssafy.puzzlepop.engine.domain.GameResult;
+import com.ssafy.puzzlepop.engine.domain.User;
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import com.ssafy.puzzlepop.engine.log.GameEventType;
+import com.ssafy.puzzlepop.gameinfo.domain.GameInfoDto;
+import com.ssafy.puzzlepop.gameinfo.service.GameInfoService;
+import com.ssafy.puzzlepop.record.service.RecordService;
+import com.ssafy.puzzlepop.user.service.GuestUserService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//끝난 게임 저장
+//게임 스레드는 스냅샷(GameResult)만 큐에 넣고 바로 돌아가고, 저장 스레드가 한 게임씩 한 트랜잭션으로 저장
+//team, record, team_user, user_stats 는 JDBC 배치로 한 번에 넣음
+//큐가 가득 차면 별도 스레드(game-save-overflow)에서 저장 (버리지 않고, 방 스레드는 기다리지 않음), 실패하면 max-attempts 까지 다시 시도
+//큐 넘침, 저장 실패는 게임 이벤트 로그(SAVE_OVERFLOW, SAVE_FAILED)로, 결과를 잃는 경우만 에러 로그로 남김
+@Slf4j
+@Component
+public class GameResultWriter {
+    private static final String INSERT_TEAM = "INSERT INTO team (game_id, matched_piece_count) VALUES (?, ?)";
+    private static final String INSERT_RECORD = "INSERT INTO record (user_id, game_id) VALUES (?, ?)";
+    private static final String INSERT_TEAM_USER = "INSERT INTO team_user (team_id, user_id, matched_piece_count) VALUES (?, ?, ?)";
+    private static final long RETRY_DELAY_MS = 200;
+
+    private final GameInfoService gameInfoService;
+    private final GuestUserService guestUserService;
+    private final RecordService recordService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameMetrics gameMetrics;
+    private final BlockingQueue<GameResult> queue;
+    private final ExecutorService overflow;
+    private final AtomicInteger overflowPending = new AtomicInteger();
+    private final int maxAttempts;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public GameResultWriter(GameInfoService gameInfoService, GuestUserService guestUserService,
+                            RecordService recordService, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            GameMetrics gameMetrics,
+                            @Value("${game.save.queue-capacity:1024}") int queueCapacity,
+                            @Value("${game.save.max-attempts:3}") int maxAttempts) {
+        this.gameInfoService = gameInfoService;
+        this.guestUserService = guestUserService;
+        this.recordService = recordService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gameMetrics = gameMetrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflow = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "game-save-overflow");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @PostConstruct
+    private void start() {
+        gameMetrics.gauge("game.save.pending", "저장을 기다리는 게임 결과 수", this::getPending);
+
+        running = true;
+        worker = new Thread(this::run, "game-save");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    //남은 결과는 종료 전에 저장
+    @PreDestroy
+    private void destroy() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        overflow.shutdown();
+        overflow.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    //방 스레드에서 호출되므로 저장, 재시도 대기는 여기서 하지 않음
+    public void submit(GameResult result) {
+        if (queue.offer(result)) {
+            return;
+        }
+
+        GameEventLog.logRoom(result.getGameId(), GameEventType.SAVE_OVERFLOW, "pending", getPending(), null, null);
+        overflowPending.incrementAndGet();
+        try {
+            overflow.execute(() -> {
+                try {
+                    writeWithRetry(result);
+                } finally {
+                    overflowPending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //종료 중
+            overflowPending.decrementAndGet();
+            GameEventLog.logRoom(result.getGameId(), GameEventType.SAVE_FAILED, "reason", "shutdown", null, null);
+            log.error("종료 중이라 게임 저장 못 함 gameId = {}", result.getGameId());
+        }
+    }
+
+    public int getPending() {
+        return queue.size() + overflowPending.get();
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                GameResult result = queue.poll(1, TimeUnit.SECONDS);
+                if (result != null) {
+                    writeWithRetry(result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeWithRetry(GameResult result) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (attempt > 1) {
+                gameMetrics.countSaveRetry();
+            }
+
+            long start = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(result));
+                gameMetrics.recordSave(true, System.nanoTime() - start);
+                return;
+            } catch (Exception e) {
+                gameMetrics.recordSave(false, System.nanoTime() - start);
+                GameEventLog.logRoom(result.getGameId(), GameEventType.SAVE_FAILED,
+                        "attempt", attempt, "maxAttempts", maxAttempts, "error", String.valueOf(rootCause(e)));
+                forgetGuests(result);
+                if (attempt == maxAttempts) {
+                    log.error("게임 저장 실패, 다시 시도하지 않음 gameId = {}", result.getGameId(), e);
+                    return;
+                }
+            }
+
+            try {
+                Thread.sleep(RETRY_DELAY_MS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(GameResult result) {
+        int matchedPieceCount = 0; // 유저별 카운팅 안 되는 상황이라 모두 더미값 0으로 통일
+
+        // gameinfo 생성
+        GameInfoDto gameInfoDto = new GameInfoDto(
+                null,
+                result.getGameType(),
+                result.isFinished(),
+
+                result.getPlayerCount(),
+                result.getRoomSize(),
+                result.getTotalPieceCount(),
+
+                null,
+                null,
+                toLocalDateTime(result.getStartTime()),
+                toLocalDateTime(result.getFinishTime())
+        );
+        Long gameInfoId = gameInfoService.createGameInfo(gameInfoDto);
+        List<Long> teamIds = insertTeams(gameInfoId, result.getTeams());
+
+        List<Object[]> records = new ArrayList<>();
+        List<Object[]> teamUsers = new ArrayList<>();
+        Map<Long, Boolean> memberWins = new LinkedHashMap<>();
+
+        for (int i = 0; i < result.getTeams().size(); i++) {
+            GameResult.TeamResult team = result.getTeams().get(i);
+            Long teamId = teamIds.get(i);
+
+            for (User u : team.getPlayers()) {
+                Long uid;
+
+                if (u.isMember()) { // 회원인 경우에만 record 생성
+                    uid = Long.parseLong(u.getId());
+                    records.add(new Object[]{uid, gameInfoId});
+                    memberWins.put(uid, team.isWon());
+                } else { // 비회원은 닉네임당 하나의 게스트 row 재사용
+                    uid = guestUserService.resolveGuestId(u.getId());
+                }
+
+                teamUsers.add(new Object[]{teamId, uid, matchedPieceCount});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_RECORD, records);
+        jdbcTemplate.batchUpdate(INSERT_TEAM_USER, teamUsers);
+
+        // 누적 전적 갱신 (한 번의 배치 upsert)
+        try {
+            recordService.addGameResults(result.getGameType(), result.getRoomSize(), memberWins, matchedPieceCount);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //팀들을 한 번의 배치로 넣고 생성된 id 를 같은 순서로 반환
+    private List<Long> insertTeams(Long gameInfoId, List<GameResult.TeamResult> teams) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_TEAM, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, gameInfoId);
+                ps.setInt(2, teams.get(i).getMatchedPieceCount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return teams.size();
+            }
+        }, keyHolder);
+
+        List<Long> teamIds = new ArrayList<>(teams.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            teamIds.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        if (teamIds.size() != teams.size()) {
+            throw new IllegalStateException("team id 를 받지 못함 : " + teamIds.size() + "/" + teams.size());
+        }
+        return teamIds;
+    }
+
+    //트랜잭션, 래핑 예외 안쪽의 실제 원인 (이벤트 로그에는 이것만 남김)
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    //롤백되면 이번에 만든 게스트 row 도 없어지므로 캐시에서 빼고 다시 확인
+    private void forgetGuests(GameResult result) {
+        for (GameResult.TeamResult team : result.getTeams()) {
+            for (User u : team.getPlayers()) {
+                if (!u.isMember()) {
+                    guestUserService.evict(u.getId());
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
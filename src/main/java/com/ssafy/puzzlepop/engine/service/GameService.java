@@ -1,95 +1,169 @@
 package com.ssafy.puzzlepop.engine.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import com.ssafy.puzzlepop.engine.InGameMessage;
 import com.ssafy.puzzlepop.engine.domain.*;
-import com.ssafy.puzzlepop.gameinfo.domain.GameInfoDto;
-import com.ssafy.puzzlepop.gameinfo.service.GameInfoService;
-import com.ssafy.puzzlepop.record.domain.RecordCreateDto;
-import com.ssafy.puzzlepop.record.service.RecordService;
-import com.ssafy.puzzlepop.team.domain.TeamDto;
-import com.ssafy.puzzlepop.team.service.TeamService;
-import com.ssafy.puzzlepop.teamuser.domain.TeamUserRequestDto;
-import com.ssafy.puzzlepop.teamuser.service.TeamUserService;
-import com.ssafy.puzzlepop.user.domain.UserDto;
-import com.ssafy.puzzlepop.user.service.UserService;
+import com.ssafy.puzzlepop.engine.log.GameEventLog;
+import com.ssafy.puzzlepop.engine.log.GameEventType;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
-import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
 @Getter
 public class GameService {
-    private Map<String, Game> gameRooms;
+    private RoomRegistry rooms;
+    //로비 목록 캐시 (타입:페이지:크기 -> 직렬화된 목록)
+    private final Map<String, RoomListing> roomListings = new ConcurrentHashMap<>();
+    private static final int MAX_ROOM_LISTINGS = 256;
     private Gson gson;
     public Map<String, String> sessionToGame;
 
-    private final GameInfoService gameInfoService;
-    private final TeamService teamService;
-    private final TeamUserService teamUserService;
-    private final UserService userService;
-    private final RecordService recordService;
+    //방 명령 실행용 공용 스레드 풀 (0 이면 코어 수만큼)
+    @Value("${game.executor.threads:0}")
+    private int executorThreads;
+    private ExecutorService roomExecutor;
+    //방이 없는 명령(빠른 매칭 등)용 큐
+    private RoomMailbox lobbyMailbox;
+
+    private final GameResultWriter gameResultWriter;
+    private final GameClock gameClock;
+    private final ObjectMapper objectMapper;
+    private final GameMetrics gameMetrics;
 
     @PostConstruct
-    //의존관게 주입완료되면 실행되는 코드
-    private void init() {
-        gameRooms = new HashMap<>();
-        gameRooms = Collections.synchronizedMap(gameRooms);
+    //의존관게 주입완료되면 실행되는 코드 (스프링 없이 쓰는 벤치마크에서도 호출하므로 package-private)
+    void init() {
+        rooms = new RoomRegistry();
         gson = new Gson();
 
         sessionToGame = new HashMap<>();
         sessionToGame = Collections.synchronizedMap(sessionToGame);
+
+        int threads = executorThreads > 0 ? executorThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        roomExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "game-room-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        lobbyMailbox = new RoomMailbox(roomExecutor, null);
+
+        for (RoomRegistry.State state : RoomRegistry.State.values()) {
+            gameMetrics.gauge("game.rooms", "상태별 방 수", () -> rooms.countByState(state), "state", state.name().toLowerCase());
+        }
+        gameMetrics.gauge("game.players", "방에 들어와 있는 플레이어 수", this::countPlayers);
+        gameMetrics.gauge("game.sessions", "방에 연결된 세션 수 (sessionToGame)", sessionToGame::size);
     }
 
-    //협동 게임방 불러오기
-    public List<Game> findAllCooperationRoom() {
-        List<Game> result = new ArrayList<>(gameRooms.values());
-        for (int i = result.size() - 1; i >= 0; i--) {
-            if (!result.get(i).getGameType().equals("COOPERATION")) {
-                result.remove(i);
+    //팀에 들어가 있는 플레이어 수 (지표 수집할 때만 호출)
+    private int countPlayers() {
+        int count = 0;
+        for (Game game : rooms.all()) {
+            if (game.getRedTeam() != null) {
+                count += game.getRedTeam().getPlayers().size();
+            }
+            if (game.getBlueTeam() != null) {
+                count += game.getBlueTeam().getPlayers().size();
             }
         }
+        return count;
+    }
 
-        //최근 생성 순으로 반환
-        Collections.reverse(result);
+    @PreDestroy
+    private void destroy() {
+        roomExecutor.shutdown();
+    }
 
-        return result;
+    //방 명령 실행
+    //같은 방의 명령은 도착 순서대로 하나씩, 다른 방끼리는 병렬로 실행됨
+    //방이 없으면 로비 큐에서 실행
+    public void execute(String roomId, RoomMailbox.Task task) {
+        Game game = roomId == null ? null : findById(roomId);
+        if (game == null) {
+            lobbyMailbox.submit(task);
+            return;
+        }
+
+        game.getMailbox().submit(task);
+    }
+
+    //협동 게임방 불러오기 (최근 생성 순)
+    public List<Game> findAllCooperationRoom() {
+        return rooms.findByType("COOPERATION", 0, 0);
     }
 
-    //배틀 게임방 불러오기
+    //배틀 게임방 불러오기 (최근 생성 순)
     public List<Game> findAllBattleRoom() {
-        List<Game> result = new ArrayList<>(gameRooms.values());
-        for (int i = result.size() - 1; i >= 0; i--) {
-            if (!result.get(i).getGameType().equals("BATTLE")) {
-                result.remove(i);
-            }
+        return rooms.findByType("BATTLE", 0, 0);
+    }
+
+    //타입별 방 목록 한 페이지 (최근 생성 순)
+    public List<Game> findRooms(String gameType, int page, int size) {
+        return rooms.findByType(gameType, page, size);
+    }
+
+    //로비 방 목록 (RoomSummary 배열 JSON)
+    //목록이 바뀌지 않았으면 이전에 직렬화해 둔 바이트를 그대로 반환
+    public RoomListing getRoomListing(String gameType, int page, int size) throws JsonProcessingException {
+        String key = gameType + ":" + page + ":" + size;
+        long version = rooms.version(gameType);
+        RoomListing listing = roomListings.get(key);
+        if (listing != null && listing.getVersion() == version) {
+            return listing;
         }
 
-        //최근 생성 순으로 반환
-        Collections.reverse(result);
+        byte[] body = objectMapper.writeValueAsBytes(rooms.findSummariesByType(gameType, page, size));
+        listing = new RoomListing(version, body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        if (roomListings.size() >= MAX_ROOM_LISTINGS) {
+            roomListings.clear();
+        }
+        roomListings.put(key, listing);
+        return listing;
+    }
 
-        return result;
+    //진행 중인 배틀 방 (최근 생성 순)
+    public List<Game> findStartedBattleRoom() {
+        return rooms.findByState(RoomRegistry.State.STARTED, "BATTLE", 0, 0);
+    }
+
+    //입장, 퇴장, 시작, 종료, 사진 변경을 목록 색인과 로비 요약에 반영
+    public void updateRoomState(Game game) {
+        rooms.refresh(game);
     }
 
     public Game findById(String roomId) {
-        return gameRooms.get(roomId);
+        return rooms.get(roomId);
     }
 
     //채팅방 생성
     public Game createRoom(Room room) {
         Game game = Game.create(room);
-        gameRooms.put(game.getGameId(), game);
+        game.setMailbox(new RoomMailbox(roomExecutor, game.getGameId()));
+        rooms.add(game);
         return game;
     }
 
     public void deleteRoom(String name) {
-        gameRooms.remove(name);
+        Game game = rooms.remove(name);
+        if (game != null) {
+            gameClock.stop(game);
+            GameEventLog.logRoom(name, GameEventType.ROOM_DELETE, "name", game.getGameName(), null, null);
+        }
     }
 
 //    public Game createRoom(String name, String userid, GameType type) {
@@ -101,10 +175,62 @@ public class GameService {
     public Game startGame(String roomId) {
         Game game = findById(roomId);
         game.start();
+        gameClock.start(game);
+        rooms.refresh(game);
         return game;
     }
 
+    //드래그는 판에 바로 적용하고 보내는 건 틱에서 모아서 (MoveBuffer)
+    public void bufferDrag(Game game, InGameMessage inGameMessage) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            moveBuffered(game, inGameMessage);
+            success = true;
+        } finally {
+            gameMetrics.recordPlay("MOUSE_DRAG", success, System.nanoTime() - start);
+        }
+    }
+
+    private void moveBuffered(Game game, InGameMessage inGameMessage) {
+        String sender = inGameMessage.getSender();
+        String color;
+        PuzzleBoard puzzle;
+        if (game.getRedTeam().isIn(sender)) {
+            color = "RED";
+            puzzle = game.getRedPuzzle();
+        } else if (game.getBlueTeam().isIn(sender)) {
+            color = "BLUE";
+            puzzle = game.getBluePuzzle();
+        } else {
+            return;
+        }
+
+        BitSet moved = game.getMoveBuffer().drag(sender, color);
+        PieceDto[] arr = gson.fromJson(inGameMessage.getTargets(), PieceDto[].class);
+        for (PieceDto now : arr) {
+            if (now.getIndex() < 0 || now.getIndex() >= puzzle.getWidthCnt() * puzzle.getLengthCnt()) {
+                continue;
+            }
+            puzzle.movePiece(now.getIndex(), now.getX(), now.getY());
+            moved.set(now.getIndex());
+        }
+    }
+
+    //메시지 종류별 처리 시간 기록
     public ResponseMessage playGame(InGameMessage inGameMessage) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ResponseMessage res = play(inGameMessage);
+            success = true;
+            return res;
+        } finally {
+            gameMetrics.recordPlay(inGameMessage.getMessage(), success, System.nanoTime() - start);
+        }
+    }
+
+    private ResponseMessage play(InGameMessage inGameMessage) throws Exception {
 
         String roomId = inGameMessage.getRoomId();
         String sender = inGameMessage.getSender();
@@ -154,7 +280,7 @@ public class GameService {
             for (int i = 0; i < stringToInt.length; i++) {
                 pieces.add(Integer.parseInt(stringToInt[i]));
             }
-            System.out.println("ADD_PIECE");
+            GameEventLog.log(GameEventType.ADD_PIECE, "user", sender, "team", ourColor, "pieces", targets);
 
             ourPuzzle.addPiece(pieces);
 //            ourPuzzle.print();
@@ -168,9 +294,7 @@ public class GameService {
                 if (comboPieces == null) {
                     return res;
                 }
-                for (int[] comboSet : comboPieces) {
-                    System.out.print(Arrays.toString(comboSet) + " | ");
-                }
+                GameEventLog.log(GameEventType.COMBO, "user", sender, "count", comboCnt[0], "pieces", comboPieces);
                 res.setCombo(comboPieces);
                 res.setComboCnt(comboCnt[0]);
             }
@@ -220,11 +344,7 @@ public class GameService {
                 if (res.getTargetList() != null) {
                     for (int i = 0; i < res.getTargetList().size(); i++) {
                         int pieceIdx = res.getTargetList().get(i);
-                        int[] point = yourPuzzle.getIdxToCoordinate().get(pieceIdx);
-                        tmp.put(pieceIdx, new double[]{
-                                yourPuzzle.getBoard()[point[0]][point[1]].getPosition_x(),
-                                yourPuzzle.getBoard()[point[0]][point[1]].getPosition_y()
-                        });
+                        tmp.put(pieceIdx, new double[]{yourPuzzle.getX(pieceIdx), yourPuzzle.getY(pieceIdx)});
                     }
                 }
                 res.setDeleted(tmp);
@@ -241,11 +361,7 @@ public class GameService {
                 if (res.getTargetList() != null) {
                     for (int i = 0; i < res.getTargetList().size(); i++) {
                         int pieceIdx = res.getTargetList().get(i);
-                        int[] point = ourPuzzle.getIdxToCoordinate().get(pieceIdx);
-                        tmp.put(pieceIdx, new double[]{
-                                ourPuzzle.getBoard()[point[0]][point[1]].getPosition_x(),
-                                ourPuzzle.getBoard()[point[0]][point[1]].getPosition_y()
-                        });
+                        tmp.put(pieceIdx, new double[]{ourPuzzle.getX(pieceIdx), ourPuzzle.getY(pieceIdx)});
                     }
                 }
                 res.setDeleted(tmp);
@@ -270,11 +386,7 @@ public class GameService {
                 if (res.getTargetList() != null) {
                     for (int i = 0; i < res.getTargetList().size(); i++) {
                         int pieceIdx = res.getTargetList().get(i);
-                        int[] point = ourPuzzle.getIdxToCoordinate().get(pieceIdx);
-                        tmp.put(pieceIdx, new double[]{
-                                ourPuzzle.getBoard()[point[0]][point[1]].getPosition_x(),
-                                ourPuzzle.getBoard()[point[0]][point[1]].getPosition_y()
-                        });
+                        tmp.put(pieceIdx, new double[]{ourPuzzle.getX(pieceIdx), ourPuzzle.getY(pieceIdx)});
                     }
                 }
                 res.setDeleted(tmp);
@@ -284,15 +396,14 @@ public class GameService {
 
             for (int i = 0; i < arr.length; i++) {
                 PieceDto now = arr[i];
-                int[] p = ourPuzzle.getIdxToCoordinate().get(now.getIndex());
-                if (ourPuzzle.getBoard()[p[0]][p[1]].isLocked()) {
+                if (ourPuzzle.isLocked(now.getIndex())) {
                     res.setMessage("BLOCKED");
                     res.setTargets(targets);
                     res.setTeam(ourColor);
                     return res;
                 }
 
-                ourPuzzle.getBoard()[p[0]][p[1]].setLocked(true);
+                ourPuzzle.setLocked(now.getIndex(), true);
             }
 
             res.setMessage("LOCKED");
@@ -304,12 +415,10 @@ public class GameService {
 
             for (int i = 0; i < arr.length; i++) {
                 PieceDto now = arr[i];
-                int[] p = ourPuzzle.getIdxToCoordinate().get(now.getIndex());
-
-                ourPuzzle.getBoard()[p[0]][p[1]].setLocked(false);
+                ourPuzzle.setLocked(now.getIndex(), false);
             }
 
-            System.out.println(targets + " 피스 잠금 해제");
+            GameEventLog.log(GameEventType.UNLOCK, "user", sender, "pieces", targets);
             res.setMessage("UNLOCKED");
             res.setTargets(targets);
 
@@ -321,10 +430,7 @@ public class GameService {
 
             for (int i = 0; i < arr.length; i++) {
                 PieceDto now = arr[i];
-                int[] p = ourPuzzle.getIdxToCoordinate().get(now.getIndex());
-
-                ourPuzzle.getBoard()[p[0]][p[1]].setPosition_x(now.getX());
-                ourPuzzle.getBoard()[p[0]][p[1]].setPosition_y(now.getY());
+                ourPuzzle.movePiece(now.getIndex(), now.getX(), now.getY());
             }
 
             res.setTargets(targets);
@@ -337,8 +443,7 @@ public class GameService {
 //            res.setItem(item);
 //        }
         else {
-            System.out.println("구현중인 명령어 : " + message);
-            System.out.println("targets = " + targets);
+            GameEventLog.log(GameEventType.UNKNOWN_COMMAND, "user", sender, "message", message, "targets", targets);
         }
 
         //게임 끝났는지 마지막에 확인
@@ -353,6 +458,7 @@ public class GameService {
 
                     save(game);
                     game.setSaved(true);
+                    rooms.refresh(game);
                 }
             } else if (game.getGameType().equals("COOPERATION")) {
                 if (ourPuzzle.isCompleted()) {
@@ -364,6 +470,7 @@ public class GameService {
 
                     save(game);
                     game.setSaved(true);
+                    rooms.refresh(game);
                 }
             }
         }
@@ -393,94 +500,14 @@ public class GameService {
         return res;
     }
 
-    public synchronized void save(Game game) throws Exception {
-        System.out.println("game save called");
+    //끝난 게임 저장 요청 (실제 저장은 GameResultWriter 스레드에서)
+    public void save(Game game) throws Exception {
         // 저장된 적 있으면 return
         if (game.isSaved()) return;
 
-        int matchedPieceCount = 0; // 유저별 카운팅 안 되는 상황이라 모두 더미값 0으로 통일
-
-        try {
-            // gameinfo 생성
-            GameInfoDto gameInfoDto = new GameInfoDto(
-                    null,
-                    game.getGameType(),
-                    game.isFinished(),
-
-                    game.getPlayers().size(),
-                    game.getRoomSize(),
-                    game.getRedPuzzle().getWidthCnt() * game.getRedPuzzle().getLengthCnt(),
-
-                    null,
-                    null,
-                    game.getStartTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime(),
-                    game.getFinishTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
-            );
-            Long gameInfoId = gameInfoService.createGameInfo(gameInfoDto);
-
-            if ("COOPERATION".equals(game.getGameType())) {
-                // team 1개 생성
-                Long teamId = teamService.createTeam(new TeamDto(null, gameInfoId, game.getRedPuzzle().getCorrectedCount()));
-
-                // user * players.size() 만큼 생성
-//                List<Long> userIdList = new ArrayList<>();
-                for (User u : game.getPlayers()) {
-                    Long uid = (long) -1;
-
-                    if (u.isMember()) { // 회원
-                        uid = Long.parseLong(u.getId());
-                        recordService.createRecord(new RecordCreateDto(uid, gameInfoId)); // 회원인 경우에만 record 생성
-                    } else { // 비회원
-                        UserDto userDto = new UserDto();
-                        userDto.setGivenName(u.getId()); // 닉네임 대신 이름으로 바로 저장해버리기~
-                        uid = userService.createUser(userDto);
-                    }
-
-//                    userIdList.add(uid);
-                    teamUserService.createTeamUser(new TeamUserRequestDto(null, teamId, uid, matchedPieceCount));
-                }
-
-            } else if ("BATTLE".equals(game.getGameType())) {
-                // team 2개 생성
-                Long redTeamId = teamService.createTeam(new TeamDto(null, gameInfoId, game.getRedPuzzle().getCorrectedCount()));
-                Long blueTeamId = teamService.createTeam(new TeamDto(null, gameInfoId, game.getBluePuzzle().getCorrectedCount()));
-
-                // user * players.size() 만큼 생성
-//                List<Long> redTeamUserIdList = new ArrayList<>();
-//                List<Long> blueTeamUserIdList = new ArrayList<>();
-                for (User u : game.getRedTeam().getPlayers()) {
-                    Long uid;
-
-                    if (u.isMember()) { // 회원
-                        uid = Long.parseLong(u.getId());
-                        recordService.createRecord(new RecordCreateDto(uid, gameInfoId));
-                    } else { // 비회원
-                        UserDto userDto = new UserDto();
-                        userDto.setGivenName(u.getId());
-                        uid = userService.createUser(userDto);
-                    }
-
-                    teamUserService.createTeamUser(new TeamUserRequestDto(null, redTeamId, uid, matchedPieceCount));
-                }
-                for (User u : game.getBlueTeam().getPlayers()) {
-                    Long uid;
-
-                    if (u.isMember()) {
-                        uid = Long.parseLong(u.getId());
-                        recordService.createRecord(new RecordCreateDto(uid, gameInfoId));
-                    } else {
-                        UserDto userDto = new UserDto();
-                        userDto.setGivenName(u.getId());
-                        uid = userService.createUser(userDto);
-                    }
+        GameEventLog.logRoom(game.getGameId(), GameEventType.SAVE_REQUESTED, "type", game.getGameType(), null, null);
 
-                    teamUserService.createTeamUser(new TeamUserRequestDto(null, blueTeamId, uid, matchedPieceCount));
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new Exception("error occurred during save game data");
-        }
+        gameResultWriter.submit(GameResult.of(game));
     }
 
     public int[] comboCheck(PuzzleBoard puzzle) {
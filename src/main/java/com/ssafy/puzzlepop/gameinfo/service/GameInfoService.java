@@ -7,6 +7,7 @@ import java.util.List;
 public interface GameInfoService {
     public GameInfoDto readGameInfo(Long id);
     public List<GameInfoDto> readAllGameInfos();
+    public List<GameInfoDto> readGameInfos(List<Long> ids);
 
     public List<GameInfoDto> findAllByType(String type);
     public List<GameInfoDto> findAllByIsCleared(Boolean isCleared);
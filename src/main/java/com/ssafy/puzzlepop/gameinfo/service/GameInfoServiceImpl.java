@@ -24,6 +24,13 @@ public class GameInfoServiceImpl implements GameInfoService {
         return new GameInfoDto(gameInfo);
     }
 
+    @Override
+    @Transactional
+    public List<GameInfoDto> readGameInfos(List<Long> ids) {
+        List<GameInfo> gameInfos = gameInfoRepository.findAllById(ids);
+        return gameInfos.stream().map(GameInfoDto::new).collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public List<GameInfoDto> readAllGameInfos() {
@@ -1,19 +1,24 @@
 package com.ssafy.puzzlepop.image.controller;
 
-import com.ssafy.puzzlepop.image.domain.ImageDataResponseDto;
+import com.ssafy.puzzlepop.image.domain.ImageCatalogPageDto;
 import com.ssafy.puzzlepop.image.domain.ImageRequestDto;
 import com.ssafy.puzzlepop.image.domain.ImageDto;
 import com.ssafy.puzzlepop.image.domain.ImageResponseDto;
+import com.ssafy.puzzlepop.image.exception.ImageException;
+import com.ssafy.puzzlepop.image.service.ImageDerivativeGenerator;
 import com.ssafy.puzzlepop.image.service.ImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.swing.*;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 // TODO: exception catch 시 에러 메세지 그대로 보내는 리턴하는 부분 리팩토링 필요
 // TODO: 작업하려는 이미지의 userId와 accessToken 발급받은 userId가 일치하는지 확인 필요
@@ -25,6 +30,7 @@ import java.util.List;
 public class ImageController {
 
     private static final Long ADMIN_USER_ID = (long) 0;
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
     private final ImageService imageService;
 
     @Autowired
@@ -79,6 +85,7 @@ public class ImageController {
         }
     }
 
+    // 이전 클라이언트용 base64 문자열 (새 클라이언트는 /image/{id}/raw)
     @GetMapping("/{id}")
     public ResponseEntity<?> findImageById(@PathVariable Long id) {
         try {
@@ -89,6 +96,66 @@ public class ImageController {
         }
     }
 
+    // 이미지 파일 그대로 (Content-Type 은 확장자, ETag / Last-Modified 는 수정시간 기준)
+    // 힙에 올리지 않고 전송, Range 요청 지원
+    @GetMapping("/{id}/raw")
+    public void findRawImageById(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageDto image;
+        try {
+            image = imageService.getImageDtoById(id);
+        } catch (ImageException e) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long updateTime = image.getUpdateTime() == null ? -1 : image.getUpdateTime().getTime();
+        String etag = updateTime < 0 ? null : "\"" + id + "-" + updateTime + "\"";
+        ImageFileSender.send(request, response, image.toPath(), mediaType(image.getFilenameExtension()),
+                etag, updateTime, CacheControl.noCache().getHeaderValue());
+    }
+
+    // 내용 해시로 찾는 이미지 원본
+    // 주소가 내용에 따라 정해지므로 한 번 받으면 다시 받을 일 없음 (immutable), Range 요청 지원
+    @GetMapping("/asset/{hash}")
+    public void findAsset(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        sendAsset(hash, null, request, response);
+    }
+
+    // 업로드할 때 만들어 둔 썸네일(thumb), 난이도별 크기(400/500/600) JPEG
+    @GetMapping("/asset/{hash}/{variant}")
+    public void findAssetVariant(@PathVariable String hash, @PathVariable String variant,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!ImageDerivativeGenerator.isVariant(variant)) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        sendAsset(hash, variant, request, response);
+    }
+
+    private void sendAsset(String hash, String variant, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageDto image;
+        try {
+            image = hash.matches("[0-9a-f]{64}") ? imageService.getImageDtoByContentHash(hash) : null;
+        } catch (ImageException e) {
+            image = null;
+        }
+        if (image == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // 파생본이 아직 안 만들어졌으면 파일이 없으므로 404 (캐시 헤더 없음)
+        String etag = "\"" + (variant == null ? hash : hash + "-" + variant) + "\"";
+        ImageFileSender.send(request, response,
+                variant == null ? image.toPath() : image.toDerivativePath(variant),
+                variant == null ? mediaType(image.getFilenameExtension()) : MediaType.IMAGE_JPEG,
+                etag, -1, IMMUTABLE.getHeaderValue());
+    }
+
+    private static MediaType mediaType(String filenameExtension) {
+        return MediaTypeFactory.getMediaType("image." + filenameExtension).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
     @GetMapping("/list")
     public ResponseEntity<?> findAllImages() {
 
@@ -100,11 +167,13 @@ public class ImageController {
         }
     }
 
+    // 기본 퍼즐 이미지 목록 (이미지 데이터 없이 정보와 주소만, 페이지 단위)
     @GetMapping("/list/puzzle")
-    public ResponseEntity<?> findAllPuzzleImages() {
+    public ResponseEntity<?> findAllPuzzleImages(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
         try {
-            List<ImageDataResponseDto> imageDataList = imageService.getAllPuzzleImages();
-            return ResponseEntity.status(HttpStatus.OK).body(imageDataList);
+            ImageCatalogPageDto catalog = imageService.getPuzzleImageCatalog(page, size);
+            return ResponseEntity.status(HttpStatus.OK).body(catalog);
         } catch(Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("FAIL");
         }
@@ -10,6 +10,7 @@ import java.util.Date;
 // TODO: @NotNull / @Column(nullable=false) 중 하나로 통일하기
 
 @Entity
+@Table(indexes = @Index(name = "idx_image_content_hash", columnList = "content_hash"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +40,12 @@ public class Image {
     @NotNull
     private Long userId; // 업로드한 유저 id
 
+    private String contentHash; // 파일 내용 SHA-256 (hex), /image/asset/{contentHash} 주소로 사용
+
+    private Integer width; // 원본 가로 크기
+    private Integer height; // 원본 세로 크기
+    private Boolean derivativesReady; // 썸네일, 난이도별(400/500/600) 파일 생성 완료 여부 (null : 아직 시도 안 함, false : 실패)
+
     @CreationTimestamp
     @Column(nullable = false)
     private Date createTime; // 생성시간
@@ -0,0 +1,37 @@
+package com.ssafy.puzzlepop.image.domain;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ImageCatalogDto {
+
+    private Long id; // 이미지 id
+    private String filename; // 원본파일명 = 이미지 이름
+    private Integer width; // 원본 가로 크기
+    private Integer height; // 원본 세로 크기
+    private String imageUrl; // 원본 주소
+    private String thumbnailUrl; // 썸네일 주소 (아직 없으면 null)
+
+    public ImageCatalogDto(Image image) {
+        this.id = image.getId();
+        this.filename = image.getFilename();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+
+        if (image.getContentHash() != null) {
+            this.imageUrl = "/image/asset/" + image.getContentHash();
+            if (Boolean.TRUE.equals(image.getDerivativesReady())) {
+                this.thumbnailUrl = this.imageUrl + "/thumb";
+            }
+        } else {
+            this.imageUrl = "/image/" + image.getId() + "/raw";
+        }
+    }
+}
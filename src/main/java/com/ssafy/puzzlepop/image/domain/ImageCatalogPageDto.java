@@ -4,15 +4,18 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.*;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
-public class ImageDataResponseDto {
+public class ImageCatalogPageDto {
 
-    private Long id; // 이미지 id
-    private String filename; // 원본파일명 = 이미지 이름
-    private String base64Image; // base64 인코딩한 이미지 데이터
+    private List<ImageCatalogDto> images; // 이번 페이지 이미지들
+    private int page; // 페이지 번호 (0부터)
+    private int size; // 페이지 크기
+    private long totalCount; // 전체 이미지 수
 }
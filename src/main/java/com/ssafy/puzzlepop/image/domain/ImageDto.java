@@ -7,6 +7,8 @@ import lombok.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Date;
 
 @Getter
@@ -24,6 +26,10 @@ public class ImageDto {
     private String filepath;
     private String filenameExtension;
     private Long userId;
+    private String contentHash;
+    private Integer width;
+    private Integer height;
+    private Boolean derivativesReady;
     private Date createTime;
     private Date updateTime;
 
@@ -36,6 +42,10 @@ public class ImageDto {
         this.filepath = image.getFilepath();
         this.filenameExtension = image.getFilenameExtension();
         this.userId = image.getUserId();
+        this.contentHash = image.getContentHash();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.derivativesReady = image.getDerivativesReady();
         this.createTime = image.getCreateTime();
         this.updateTime = image.getUpdateTime();
     }
@@ -49,9 +59,23 @@ public class ImageDto {
                 .filepath(this.filepath)
                 .filenameExtension(this.filenameExtension)
                 .userId(this.userId)
+                .contentHash(this.contentHash)
+                .width(this.width)
+                .height(this.height)
+                .derivativesReady(this.derivativesReady)
                 .createTime(this.createTime)
                 .updateTime(this.updateTime)
                 .build();
     }
 
+    // 서버에 저장된 실제 파일 경로
+    public Path toPath() {
+        return Paths.get(this.filepath + "." + this.filenameExtension);
+    }
+
+    // 썸네일(thumb), 난이도별 크기(400/500/600) 파일 경로
+    public Path toDerivativePath(String variant) {
+        return Paths.get(this.filepath + "_" + variant + ".jpg");
+    }
+
 }
@@ -2,15 +2,22 @@ package com.ssafy.puzzlepop.image.repository;
 
 import com.ssafy.puzzlepop.image.domain.Image;
 import com.ssafy.puzzlepop.image.domain.ImageDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ImageRepository extends JpaRepository<Image, Long> {
 
     List<Image> findAllByType(String type);
 
+    Page<Image> findAllByType(String type, Pageable pageable);
+
     List<Image> findAllByUserId(Long userId);
+
+    Optional<Image> findFirstByContentHash(String contentHash);
 }
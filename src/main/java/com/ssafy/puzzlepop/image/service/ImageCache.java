@@ -0,0 +1,147 @@
+package com.ssafy.puzzlepop.image.service;
+
+import com.ssafy.puzzlepop.image.domain.ImageDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 이미지 id -> 게임 방 사진으로 쓸 준비가 끝난 이미지 정보(해시, 크기, 파생본) + base64 문자열 캐시
+// 거의 모든 방이 같은 기본 사진 몇 장을 쓰므로 DB 조회, 파일 읽기 없이 바로 꺼냄
+// 전체 크기(바이트) 기준으로 제한, 넘으면 가장 오래 안 쓴 것부터 제거 (LRU)
+// 적중률은 image.cache.gets{kind, result} 로 노출 (result : hit, partial(항목은 있지만 찾는 값이 아직 없음), miss)
+@Component
+public class ImageCache {
+    // 정보만 있을 때의 대략적인 크기
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private static final int HIT = 0;
+    private static final int PARTIAL = 1;
+    private static final int MISS = 2;
+    private static final String[] RESULTS = {"hit", "partial", "miss"};
+
+    private final long maxBytes;
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    // {정보, base64} 별 적중, 일부 적중, 실패 횟수
+    private final AtomicLong[] imageGets = counters();
+    private final AtomicLong[] base64Gets = counters();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static class Entry {
+        private final ImageDto image;
+        private final String base64;
+        private final long weight;
+
+        private Entry(ImageDto image, String base64) {
+            this.image = image;
+            this.base64 = base64;
+            this.weight = ENTRY_OVERHEAD + (base64 == null ? 0 : base64.length()); // base64 는 ASCII 라 글자당 1바이트
+        }
+    }
+
+    public ImageCache(@Value("${image.cache.max-bytes:67108864}") long maxBytes, MeterRegistry registry) {
+        this.maxBytes = maxBytes;
+
+        for (int result = HIT; result <= MISS; result++) {
+            registerGets(registry, "image", RESULTS[result], imageGets[result]);
+            registerGets(registry, "base64", RESULTS[result], base64Gets[result]);
+        }
+        FunctionCounter.builder("image.cache.evictions", evictions, AtomicLong::get)
+                .description("크기 제한으로 빠진 이미지 캐시 항목 수")
+                .register(registry);
+        Gauge.builder("image.cache.size", this, ImageCache::getBytes)
+                .description("이미지 캐시에 든 크기 (바이트)")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("image.cache.entries", this, ImageCache::size)
+                .description("이미지 캐시 항목 수")
+                .register(registry);
+    }
+
+    private static void registerGets(MeterRegistry registry, String kind, String result, AtomicLong count) {
+        FunctionCounter.builder("image.cache.gets", count, AtomicLong::get)
+                .description("이미지 캐시 조회")
+                .tags("kind", kind, "result", result)
+                .register(registry);
+    }
+
+    private static AtomicLong[] counters() {
+        return new AtomicLong[]{new AtomicLong(), new AtomicLong(), new AtomicLong()};
+    }
+
+    // 꺼낸 정보는 여러 곳에서 같이 쓰므로 읽기만 할 것
+    public synchronized ImageDto getImage(Long id) {
+        Entry entry = entries.get(id);
+        count(imageGets, entry, entry == null ? null : entry.image);
+        return entry == null ? null : entry.image;
+    }
+
+    public synchronized String getBase64(Long id) {
+        Entry entry = entries.get(id);
+        count(base64Gets, entry, entry == null ? null : entry.base64);
+        return entry == null ? null : entry.base64;
+    }
+
+    // 항목은 있는데 찾는 값만 없으면 (정보만 넣고 base64 는 아직 등) 일부 적중
+    private static void count(AtomicLong[] gets, Entry entry, Object value) {
+        int result = value != null ? HIT : entry != null ? PARTIAL : MISS;
+        gets[result].incrementAndGet();
+    }
+
+    public synchronized void putImage(Long id, ImageDto image) {
+        Entry old = entries.get(id);
+        put(id, new Entry(image, old == null ? null : old.base64));
+    }
+
+    public synchronized void putBase64(Long id, String base64) {
+        Entry old = entries.get(id);
+        put(id, new Entry(old == null ? null : old.image, base64));
+    }
+
+    private void put(Long id, Entry entry) {
+        if (entry.weight > maxBytes) {
+            return;
+        }
+
+        Entry old = entries.put(id, entry);
+        if (old != null) {
+            bytes -= old.weight;
+        }
+        bytes += entry.weight;
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest == entry) {
+                continue;
+            }
+            it.remove();
+            bytes -= eldest.weight;
+            evictions.incrementAndGet();
+        }
+    }
+
+    // 이미지 삭제, 정보 변경 시
+    public synchronized void invalidate(Long id) {
+        Entry old = entries.remove(id);
+        if (old != null) {
+            bytes -= old.weight;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+}
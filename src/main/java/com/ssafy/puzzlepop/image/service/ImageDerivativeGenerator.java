@@ -0,0 +1,172 @@
+package com.ssafy.puzzlepop.image.service;
+
+import com.ssafy.puzzlepop.image.domain.Image;
+import com.ssafy.puzzlepop.image.domain.ImageDto;
+import com.ssafy.puzzlepop.image.repository.ImageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 업로드된 이미지의 파생본(썸네일, 난이도별 크기) 생성
+// 원본 옆에 {filepath}_{variant}.jpg 로 저장하고 원본 크기와 함께 Image 에 기록
+// 요청 스레드가 아닌 별도 스레드에서 한 장씩 처리
+// 실패하면 derivativesReady 를 false 로 남겨서 다시 시도하지 않음 (null 은 아직 시도 안 함)
+@Slf4j
+@Component
+public class ImageDerivativeGenerator {
+    public static final String THUMBNAIL = "thumb";
+    public static final int THUMBNAIL_SIZE = 200;
+    public static final int[] LEVEL_SIZES = {400, 500, 600}; // Picture.levelSize 와 같은 값
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageRepository imageRepository;
+    private final ImageCache imageCache;
+    private final ExecutorService executor;
+    private final Set<Long> inProgress = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ImageDerivativeGenerator(ImageRepository imageRepository, ImageCache imageCache) {
+        this.imageRepository = imageRepository;
+        this.imageCache = imageCache;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "image-derivative");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void destroy() {
+        executor.shutdown();
+    }
+
+    public static boolean isVariant(String variant) {
+        if (THUMBNAIL.equals(variant)) {
+            return true;
+        }
+        for (int size : LEVEL_SIZES) {
+            if (String.valueOf(size).equals(variant)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 이미 처리 중인 이미지는 다시 넣지 않음
+    public void submit(Long imageId) {
+        if (inProgress.add(imageId)) {
+            executor.execute(() -> {
+                try {
+                    if (!generate(imageId)) {
+                        markFailed(imageId);
+                    }
+                } catch (Exception e) {
+                    log.error("이미지 파생본 생성 실패 id = {}", imageId, e);
+                    markFailed(imageId);
+                } finally {
+                    inProgress.remove(imageId);
+                }
+            });
+        }
+    }
+
+    // 읽을 수 없는 이미지면 false
+    private boolean generate(Long imageId) throws Exception {
+        Image image = imageRepository.findById(imageId).orElse(null);
+        if (image == null) {
+            return true;
+        }
+
+        ImageDto imageDto = new ImageDto(image);
+        BufferedImage source = ImageIO.read(imageDto.toPath().toFile());
+        if (source == null) {
+            log.warn("읽을 수 없는 이미지 id = {}", imageId);
+            return false;
+        }
+
+        write(resize(source, THUMBNAIL_SIZE), imageDto.toDerivativePath(THUMBNAIL));
+        for (int size : LEVEL_SIZES) {
+            write(resize(source, size), imageDto.toDerivativePath(String.valueOf(size)));
+        }
+
+        // 만드는 동안 바뀌었을 수 있으므로 다시 읽어서 저장
+        image = imageRepository.findById(imageId).orElse(null);
+        if (image == null) {
+            return true;
+        }
+        image.setWidth(source.getWidth());
+        image.setHeight(source.getHeight());
+        image.setDerivativesReady(true);
+        imageRepository.save(image);
+        imageCache.invalidate(imageId);
+        return true;
+    }
+
+    private void markFailed(Long imageId) {
+        try {
+            Image image = imageRepository.findById(imageId).orElse(null);
+            if (image == null || image.getDerivativesReady() != null) {
+                return;
+            }
+            image.setDerivativesReady(false);
+            imageRepository.save(image);
+            imageCache.invalidate(imageId);
+        } catch (Exception e) {
+            log.error("이미지 파생본 실패 기록 실패 id = {}", imageId, e);
+        }
+    }
+
+    // 긴 변이 size 가 되도록 비율 유지해서 축소 (JPEG 로 저장하므로 투명 영역은 흰색)
+    private static BufferedImage resize(BufferedImage source, int size) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = (double) size / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    // 임시 파일에 쓰고 옮겨서 반쯤 쓰인 파일이 나가지 않도록
+    private static void write(BufferedImage image, Path path) throws Exception {
+        Path tmp = Files.createTempFile(path.getParent(), "derivative", ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,6 +1,6 @@
 package com.ssafy.puzzlepop.image.service;
 
-import com.ssafy.puzzlepop.image.domain.ImageDataResponseDto;
+import com.ssafy.puzzlepop.image.domain.ImageCatalogPageDto;
 import com.ssafy.puzzlepop.image.domain.ImageRequestDto;
 import com.ssafy.puzzlepop.image.domain.ImageDto;
 import com.ssafy.puzzlepop.image.domain.ImageResponseDto;
@@ -29,5 +29,9 @@ public interface ImageService {
 
     ImageDto getImageDtoById(Long id) throws ImageException;
 
-    List<ImageDataResponseDto> getAllPuzzleImages() throws ImageException;
+    ImageCatalogPageDto getPuzzleImageCatalog(int page, int size) throws ImageException;
+
+    ImageDto prepareImage(Long id) throws ImageException;
+
+    ImageDto getImageDtoByContentHash(String contentHash) throws ImageException;
 }
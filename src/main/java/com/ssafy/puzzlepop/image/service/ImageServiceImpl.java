@@ -3,18 +3,29 @@ package com.ssafy.puzzlepop.image.service;
 import com.ssafy.puzzlepop.image.domain.*;
 import com.ssafy.puzzlepop.image.exception.ImageException;
 import com.ssafy.puzzlepop.image.repository.ImageRepository;
-import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,12 +34,17 @@ public class ImageServiceImpl implements ImageService {
     private static final Long ADMIN_USER_ID = (long) 0;
     private static final String CUSTOM_PUZZLE_IMAGE_TYPE = "cPuzzle";
     private static final String STANDARD_PUZZLE_IMAGE_TYPE = "sPuzzle";
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
 
     private final ImageRepository imageRepository;
+    private final ImageDerivativeGenerator derivativeGenerator;
+    private final ImageCache imageCache;
 
     @Autowired
-    private ImageServiceImpl(ImageRepository imageRepository) {
+    private ImageServiceImpl(ImageRepository imageRepository, ImageDerivativeGenerator derivativeGenerator, ImageCache imageCache) {
         this.imageRepository = imageRepository;
+        this.derivativeGenerator = derivativeGenerator;
+        this.imageCache = imageCache;
     }
 
     private static final String RELATIVE_PATH = "../uploads/image/";
@@ -71,9 +87,12 @@ public class ImageServiceImpl implements ImageService {
             savePath.toFile().mkdirs();
         }
 
-        // 파일 저장
-        try {
-            file.transferTo(new File(filepath + "." + filenameExtension));
+        // 파일 저장 (저장하면서 내용 해시 계산)
+        String contentHash;
+        try (InputStream in = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Files.copy(new DigestInputStream(in, digest), Path.of(filepath + "." + filenameExtension));
+            contentHash = HexFormat.of().formatHex(digest.digest());
         } catch (Exception e) {
             throw new ImageException("이미지 파일 업로드 중 에러 발생");
         }
@@ -87,14 +106,18 @@ public class ImageServiceImpl implements ImageService {
         image.setFilepath(filepath); // 서버경로+서버저장파일명
         image.setFilenameExtension(filenameExtension); // 파일 확장자
         image.setUserId(imageRequestDto.getUserId()); // 업로드한 uid
+        image.setContentHash(contentHash); // 파일 내용 해시
 
         // 이미지 객체 db 저장
         try {
             imageRepository.save(image);
-            return image.getId();
         } catch (Exception e) {
             throw new ImageException(e.getMessage());
         }
+
+        // 크기, 썸네일, 난이도별 파일은 별도 스레드에서 생성
+        derivativeGenerator.submit(image.getId());
+        return image.getId();
     }
 
     @Override
@@ -143,6 +166,12 @@ public class ImageServiceImpl implements ImageService {
             if (!Files.deleteIfExists(filepath)) {
                 throw new ImageException("image file doesn't exist");
             }
+
+            ImageDto imageDto = new ImageDto(existImage);
+            Files.deleteIfExists(imageDto.toDerivativePath(ImageDerivativeGenerator.THUMBNAIL));
+            for (int size : ImageDerivativeGenerator.LEVEL_SIZES) {
+                Files.deleteIfExists(imageDto.toDerivativePath(String.valueOf(size)));
+            }
         } catch (IOException e) {
             throw new ImageException("failed to delete image file");
         }
@@ -153,11 +182,18 @@ public class ImageServiceImpl implements ImageService {
         } catch (Exception e) {
             throw new ImageException("failed to delete imageinfo in db");
         }
+
+        imageCache.invalidate(id);
     }
 
 
     @Override
     public String getBase64ImageById(Long id) throws ImageException {
+        String cached = imageCache.getBase64(id);
+        if (cached != null) {
+            return cached;
+        }
+
         Image image;
 
         try {
@@ -166,11 +202,10 @@ public class ImageServiceImpl implements ImageService {
                 throw new ImageException("존재하지 않는 이미지");
             }
 
-            Path imagePath = Paths.get(image.getFilepath() + "." + image.getFilenameExtension());
-            File file = new File(String.valueOf(imagePath));
-            byte[] fileContent = FileUtils.readFileToByteArray(file);
+            // 이전 클라이언트 호환용, 새 클라이언트는 /image/{id}/raw 로 파일을 바로 받음
+            byte[] fileContent = Files.readAllBytes(new ImageDto(image).toPath());
             String base64Image = Base64.getEncoder().encodeToString(fileContent);
-
+            imageCache.putBase64(id, base64Image);
             return base64Image;
 
 //            UrlResource imageResource = new UrlResource(imagePath.toUri());
@@ -276,35 +311,101 @@ public class ImageServiceImpl implements ImageService {
         return new ImageDto(image);
     }
 
+    // 파일은 읽지 않고 정보와 주소만 (이미지는 /image/asset 에서 따로 받음)
     @Override
-    public List<ImageDataResponseDto> getAllPuzzleImages() throws ImageException {
-        List<ImageDataResponseDto> puzzleImageDataList = new ArrayList<>();
+    public ImageCatalogPageDto getPuzzleImageCatalog(int page, int size) throws ImageException {
+        page = Math.max(page, 0);
+        size = Math.min(Math.max(size, 1), MAX_CATALOG_PAGE_SIZE);
 
         try {
-            List<Image> sPuzzleList = imageRepository.findAllByType(STANDARD_PUZZLE_IMAGE_TYPE);
-//            if (sPuzzleList == null || sPuzzleList.isEmpty()) { // 존재하는 id에 대한 요청만 허용한다고 가정. 필요 시 수정
-//                throw new ImageException("이미지 조회 중 오류 발생");
-//            }
+            Page<Image> images = imageRepository.findAllByType(STANDARD_PUZZLE_IMAGE_TYPE, PageRequest.of(page, size, Sort.by("id")));
+            List<ImageCatalogDto> catalog = new ArrayList<>(images.getNumberOfElements());
+            for (Image image : images) {
+                catalog.add(new ImageCatalogDto(image));
+            }
+
+            return new ImageCatalogPageDto(catalog, page, size, images.getTotalElements());
+        } catch (Exception e) {
+            throw new ImageException("failed to get puzzle image catalog");
+        }
+    }
+
+    // 게임 방 사진으로 쓰기 전에 호출
+    // 해시, 크기가 없는 이미지(이전에 올라온 것)는 이번에 채워서 저장, 크기는 파일 헤더만 읽음
+    @Override
+    public ImageDto prepareImage(Long id) throws ImageException {
+        ImageDto cached = imageCache.getImage(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        Image image = imageRepository.findById(id).orElse(null);
+        if (image == null) {
+            throw new ImageException("image matches to id doesn't exist");
+        }
 
-            for (Image image : sPuzzleList) {
-                Path imagePath = Paths.get(image.getFilepath() + "." + image.getFilenameExtension());
-                File file = new File(String.valueOf(imagePath));
-                byte[] fileContent = FileUtils.readFileToByteArray(file);
-                String base64Image = Base64.getEncoder().encodeToString(fileContent);
+        if (image.getContentHash() == null || image.getWidth() == null) {
+            Path path = new ImageDto(image).toPath();
+            try {
+                if (image.getContentHash() == null) {
+                    image.setContentHash(hash(path));
+                }
+                if (image.getWidth() == null) {
+                    int[] size = readSize(path);
+                    image.setWidth(size[0]);
+                    image.setHeight(size[1]);
+                }
+                imageRepository.save(image);
+            } catch (Exception e) {
+                throw new ImageException("failed to read image file");
+            }
+        }
 
-                ImageDataResponseDto imageData = new ImageDataResponseDto();
-                imageData.setId(image.getId());
-                imageData.setFilename(image.getFilename());
-                imageData.setBase64Image(base64Image);
+        ImageDto imageDto = new ImageDto(image);
+        if (image.getDerivativesReady() != null) {
+            // 파생본 생성이 끝난 것(성공, 실패)만 캐시 (아직이면 다음 요청 때 다시 확인)
+            imageCache.putImage(id, imageDto);
+        } else {
+            // 한 번도 시도하지 않은 이미지만 생성 요청 (실패한 이미지는 다시 디코딩하지 않음)
+            derivativeGenerator.submit(image.getId());
+        }
 
-                puzzleImageDataList.add(imageData);
+        return imageDto;
+    }
+
+    @Override
+    public ImageDto getImageDtoByContentHash(String contentHash) throws ImageException {
+        Image image = imageRepository.findFirstByContentHash(contentHash).orElse(null);
+        if (image == null) {
+            throw new ImageException("image matches to hash doesn't exist");
+        }
+
+        return new ImageDto(image);
+    }
+
+    // 전체를 디코딩하지 않고 헤더에서 가로, 세로만 읽음
+    private static int[] readSize(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("unsupported image format");
             }
 
-            return puzzleImageDataList;
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new ImageException(e.getMessage());
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
         }
     }
 
+    private static String hash(Path path) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
 }
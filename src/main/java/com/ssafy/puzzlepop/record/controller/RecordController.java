@@ -52,8 +52,11 @@ public class RecordController {
     /////////
 
     @GetMapping("/list")
-    public ResponseEntity<?> findRecentRecordsByUserId(@RequestParam("user_id") Long userId) throws RecordException {
-        List<RecordDetailDto> recordList = recordService.getRecentRecordsByUserId(userId);
+    public ResponseEntity<?> findRecentRecordsByUserId(@RequestParam("user_id") Long userId,
+                                                       @RequestParam(required = false) Long cursor,
+                                                       @RequestParam(defaultValue = "20") int size) throws RecordException {
+        // cursor : 이전 페이지 마지막 record_id (없으면 최신부터)
+        List<RecordDetailDto> recordList = recordService.getRecentRecordsByUserId(userId, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(recordList);
     }
 
@@ -70,26 +73,30 @@ public class RecordController {
     /* Ranking */
 
     @GetMapping("/ranking/playedGameCount")
-    public ResponseEntity<?> getPlayedGameCountRanking() throws RecordException {
-        List<PlayedGameCountRankingDto> playedGameCountRanking = recordService.rankPlayedGameCount();
+    public ResponseEntity<?> getPlayedGameCountRanking(@RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "100") int size) throws RecordException {
+        List<PlayedGameCountRankingDto> playedGameCountRanking = recordService.rankPlayedGameCount(page, size);
         return ResponseEntity.status(HttpStatus.OK).body(playedGameCountRanking);
     }
 
     @GetMapping("/ranking/soloBattle")
-    public ResponseEntity<?> getSoloBattleWinCountRanking() throws RecordException{
-        List<WinCountRankingDto> soloBattleWinCountRanking = recordService.rankSoloBattleWinCount();
+    public ResponseEntity<?> getSoloBattleWinCountRanking(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "100") int size) throws RecordException{
+        List<WinCountRankingDto> soloBattleWinCountRanking = recordService.rankSoloBattleWinCount(page, size);
         return ResponseEntity.status(HttpStatus.OK).body(soloBattleWinCountRanking);
     }
 
     @GetMapping("/ranking/teamBattle")
-    public ResponseEntity<?> getTeamBattleWinCountRanking() throws RecordException{
-        List<WinCountRankingDto> teamBattleWinCountRanking = recordService.rankTeamBattleWinCount();
+    public ResponseEntity<?> getTeamBattleWinCountRanking(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "100") int size) throws RecordException{
+        List<WinCountRankingDto> teamBattleWinCountRanking = recordService.rankTeamBattleWinCount(page, size);
         return ResponseEntity.status(HttpStatus.OK).body(teamBattleWinCountRanking);
     }
 
     @GetMapping("/ranking/winningRate")
-    public ResponseEntity<?> getWinningRateRanking() throws RecordException{
-        List<WinningRateRankingDto> winningRateRanking = recordService.rankWinningRate();
+    public ResponseEntity<?> getWinningRateRanking(@RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "100") int size) throws RecordException{
+        List<WinningRateRankingDto> winningRateRanking = recordService.rankWinningRate(page, size);
         return ResponseEntity.status(HttpStatus.OK).body(winningRateRanking);
     }
 
@@ -99,4 +106,13 @@ public class RecordController {
         return ResponseEntity.status(HttpStatus.OK).body(userRankingDto);
     }
 
+    // board : playedGameCount, soloBattle, teamBattle, winningRate
+    @GetMapping("/ranking/personal/neighbors")
+    public ResponseEntity<?> getRankingNeighbors(@RequestParam("user_id") Long userId,
+                                                 @RequestParam String board,
+                                                 @RequestParam(defaultValue = "5") int range) throws RecordException{
+        List<RankingNeighborDto> neighbors = recordService.getRankingNeighbors(userId, board, range);
+        return ResponseEntity.status(HttpStatus.OK).body(neighbors);
+    }
+
 }
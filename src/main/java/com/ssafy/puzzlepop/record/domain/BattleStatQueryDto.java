@@ -0,0 +1,15 @@
+package com.ssafy.puzzlepop.record.domain;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BattleStatQueryDto {
+
+    private Long userId;
+    private long playedGameCount; // 플레이한 배틀 게임 수
+    private long winCount; // 이긴 배틀 게임 수
+}
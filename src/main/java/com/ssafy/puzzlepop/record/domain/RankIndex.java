@@ -0,0 +1,191 @@
+package com.ssafy.puzzlepop.record.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// 랭킹 한 종류의 메모리 색인 (서브트리 크기를 들고 있는 트립)
+// 점수 내림차순, 같으면 userId 내림차순 (UserStats 랭킹 페이지와 같은 순서)
+// 등록/삭제, 순위 조회, k 번째 유저 조회 모두 O(log n)
+public class RankIndex {
+    private static class Node {
+        private final long userId;
+        private final double score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long userId, double score, int priority) {
+            this.userId = userId;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    // 같은 유저가 이미 있으면 점수 교체
+    public synchronized void put(long userId, double score) {
+        Double old = scores.put(userId, score);
+        if (old != null) {
+            root = delete(root, old, userId);
+        }
+
+        Node[] parts = split(root, score, userId);
+        root = merge(merge(parts[0], new Node(userId, score, random.nextInt())), parts[1]);
+    }
+
+    public synchronized void remove(long userId) {
+        Double old = scores.remove(userId);
+        if (old != null) {
+            root = delete(root, old, userId);
+        }
+    }
+
+    public synchronized void clear() {
+        scores.clear();
+        root = null;
+    }
+
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    public synchronized boolean contains(long userId) {
+        return scores.containsKey(userId);
+    }
+
+    // 1 부터 시작, 없으면 -1
+    public synchronized int rank(long userId) {
+        Double score = scores.get(userId);
+        if (score == null) {
+            return -1;
+        }
+
+        int ahead = 0;
+        Node node = root;
+        while (node != null) {
+            if (before(score, userId, node)) {
+                node = node.left;
+            } else if (node.userId == userId) {
+                return ahead + size(node.left) + 1;
+            } else {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    // rank 번째 유저 id, 범위를 벗어나면 null
+    public synchronized Long userAt(int rank) {
+        if (rank < 1 || rank > size(root)) {
+            return null;
+        }
+
+        Node node = root;
+        int k = rank;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (k <= leftSize) {
+                node = node.left;
+            } else if (k == leftSize + 1) {
+                return node.userId;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // 유저 앞뒤로 range 명씩 (순위 순서), 유저가 없으면 빈 목록
+    public synchronized List<Long> window(long userId, int range) {
+        List<Long> result = new ArrayList<>();
+        int rank = rank(userId);
+        if (rank < 0) {
+            return result;
+        }
+
+        int from = Math.max(1, rank - range);
+        int to = Math.min(size(root), rank + range);
+        for (int r = from; r <= to; r++) {
+            result.add(userAt(r));
+        }
+        return result;
+    }
+
+    public synchronized double score(long userId) {
+        Double score = scores.get(userId);
+        return score == null ? 0 : score;
+    }
+
+    // (score, userId) 가 node 보다 앞 순위인지
+    private static boolean before(double score, long userId, Node node) {
+        if (score != node.score) {
+            return score > node.score;
+        }
+        return userId > node.userId;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    // (score, userId) 보다 앞 순위인 것들 / 나머지
+    private static Node[] split(Node node, double score, long userId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (before(score, userId, node)) {
+            Node[] parts = split(node.left, score, userId);
+            node.left = parts[1];
+            return new Node[]{parts[0], update(node)};
+        } else {
+            Node[] parts = split(node.right, score, userId);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        } else {
+            b.left = merge(a, b.left);
+            return update(b);
+        }
+    }
+
+    private static Node delete(Node node, double score, long userId) {
+        if (node == null) {
+            return null;
+        }
+        if (node.userId == userId) {
+            return merge(node.left, node.right);
+        }
+        if (before(score, userId, node)) {
+            node.left = delete(node.left, score, userId);
+        } else {
+            node.right = delete(node.right, score, userId);
+        }
+        return update(node);
+    }
+}
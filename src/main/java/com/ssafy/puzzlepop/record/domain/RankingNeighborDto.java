@@ -0,0 +1,19 @@
+package com.ssafy.puzzlepop.record.domain;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.ssafy.puzzlepop.user.domain.UserInfoDto;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RankingNeighborDto {
+
+    private int rank; // 순위
+    private UserInfoDto user; // 사용자 정보
+    private double value; // 랭킹 기준 값 (플레이 수, 승리 수, 승률)
+}
@@ -19,6 +19,7 @@ import java.util.List;
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class RecordDetailDto {
 
+    private Long recordId; // 다음 페이지 요청 시 cursor 로 사용
     private GameInfoDto gameInfo;
     private List<TeamDto> teamList;
     private List<TeamUserResponseDto> userTeamList1;
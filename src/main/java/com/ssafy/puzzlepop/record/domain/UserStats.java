@@ -0,0 +1,79 @@
+package com.ssafy.puzzlepop.record.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 유저별 누적 전적 (게임이 끝날 때마다 GameService.save 에서 더해줌)
+// 랭킹은 전체 기록을 다시 계산하지 않고 이 테이블을 인덱스 순서대로 페이지 단위로 읽음
+// 같은 값이면 userId 가 큰 순서 (기존 랭킹 정렬과 같은 순서)
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@Table(indexes = {
+        @Index(name = "idx_user_stats_played", columnList = "played_game_count, user_id"),
+        @Index(name = "idx_user_stats_solo_win", columnList = "solo_battle_win_count, user_id"),
+        @Index(name = "idx_user_stats_team_win", columnList = "team_battle_win_count, user_id"),
+        @Index(name = "idx_user_stats_winning_rate", columnList = "winning_rate, user_id")
+})
+public class UserStats {
+    @Id
+    private Long userId;
+
+    private int playedGameCount; // 전체 게임 플레이 횟수
+    private int matchedPieceCount; // 지금까지 맞춘 전체 피스 수
+
+    private int battleGameCount; // 배틀 게임 플레이 횟수
+    private int battleWinCount; // 배틀 게임 이긴 횟수
+    private double winningRate; // 배틀 승률 (백분율), 정렬용으로 같이 저장
+
+    private int soloBattleGameCount; // 1:1 배틀 (2명 게임)
+    private int soloBattleWinCount;
+    private int teamBattleGameCount; // n:n 배틀 (4명 이상 게임)
+    private int teamBattleWinCount;
+
+    private LocalDateTime updatedTime;
+
+    public static UserStats empty(Long userId) {
+        UserStats userStats = new UserStats();
+        userStats.setUserId(userId);
+        return userStats;
+    }
+
+    // 끝난 게임 한 판 반영
+    public void addGame(String gameType, int roomSize, boolean won, int matchedPieceCount) {
+        this.playedGameCount++;
+        this.matchedPieceCount += matchedPieceCount;
+
+        if ("BATTLE".equals(gameType)) {
+            this.battleGameCount++;
+            if (won) {
+                this.battleWinCount++;
+            }
+
+            if (roomSize == 2) {
+                this.soloBattleGameCount++;
+                if (won) {
+                    this.soloBattleWinCount++;
+                }
+            } else if (roomSize >= 4) {
+                this.teamBattleGameCount++;
+                if (won) {
+                    this.teamBattleWinCount++;
+                }
+            }
+        }
+
+        updateWinningRate();
+        this.updatedTime = LocalDateTime.now();
+    }
+
+    public void updateWinningRate() {
+        this.winningRate = battleGameCount == 0 ? 0 : (double) battleWinCount / battleGameCount * 100;
+    }
+}
@@ -1,9 +1,12 @@
 package com.ssafy.puzzlepop.record.repository;
 
+import com.ssafy.puzzlepop.record.domain.BattleStatQueryDto;
 import com.ssafy.puzzlepop.record.domain.RankingQueryDto;
 import com.ssafy.puzzlepop.record.domain.Record;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +15,29 @@ import java.util.List;
 public interface RecordRepository extends JpaRepository<Record, Long> {
 
     List<Record> findByUserId(Long userId);
+    // 최근 전적 (record id 기준 키셋 페이지)
+    List<Record> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+    List<Record> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
     int countByUserId(Long userId);
     @Query("SELECT NEW com.ssafy.puzzlepop.record.domain.RankingQueryDto(r.userId, COUNT(r.gameId)) FROM Record r GROUP BY r.userId ORDER BY COUNT(r.gameId) DESC")
     List<RankingQueryDto> countGamesByUserId();
+
+    @Query("SELECT NEW com.ssafy.puzzlepop.record.domain.RankingQueryDto(tu.user.id, COALESCE(SUM(tu.matchedPieceCount), 0)) FROM TeamUser tu GROUP BY tu.user.id")
+    List<RankingQueryDto> sumMatchedPieceCountByUserId();
+
+    // 유저별 배틀 게임 플레이 수, 승리 수 (내 팀 t 의 맞춘 피스 수가 상대 팀 o 보다 많으면 승리)
+    String BATTLE_STAT_QUERY = "SELECT NEW com.ssafy.puzzlepop.record.domain.BattleStatQueryDto(r.userId, COUNT(r.id), " +
+            "SUM(CASE WHEN t.matchedPieceCount > o.matchedPieceCount THEN 1 ELSE 0 END)) " +
+            "FROM Record r, GameInfo g, TeamUser tu, Team t, Team o " +
+            "WHERE g.id = r.gameId AND g.type = 'BATTLE' " +
+            "AND tu.user.id = r.userId AND tu.team.id = t.id AND t.gameId = r.gameId " +
+            "AND o.gameId = r.gameId AND o.id <> t.id ";
+
+    @Query(BATTLE_STAT_QUERY + "GROUP BY r.userId ORDER BY r.userId")
+    List<BattleStatQueryDto> countBattleStatsByUserId();
+
+    // 인원 수(maxPlayerCount)가 min 이상 max 이하인 배틀 게임만
+    @Query(BATTLE_STAT_QUERY + "AND g.maxPlayerCount >= :minPlayerCount AND g.maxPlayerCount <= :maxPlayerCount " +
+            "GROUP BY r.userId ORDER BY r.userId")
+    List<BattleStatQueryDto> countBattleStatsByUserId(@Param("minPlayerCount") int minPlayerCount, @Param("maxPlayerCount") int maxPlayerCount);
 }
@@ -0,0 +1,18 @@
+package com.ssafy.puzzlepop.record.repository;
+
+import com.ssafy.puzzlepop.record.domain.UserStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    // 랭킹 페이지 (정렬은 Pageable 로), 전체 개수는 쓰지 않으므로 Page 대신 List 로 받아서 COUNT 쿼리 생략
+    List<UserStats> findAllByPlayedGameCountGreaterThan(int count, Pageable pageable);
+    List<UserStats> findAllBySoloBattleGameCountGreaterThan(int count, Pageable pageable);
+    List<UserStats> findAllByTeamBattleGameCountGreaterThan(int count, Pageable pageable);
+    List<UserStats> findAllByBattleGameCountGreaterThan(int count, Pageable pageable);
+}
@@ -4,6 +4,7 @@ import com.ssafy.puzzlepop.record.domain.*;
 import com.ssafy.puzzlepop.record.exception.RecordException;
 
 import java.util.List;
+import java.util.Map;
 
 public interface RecordService {
     Long createRecord(RecordCreateDto recordCreateDto) throws RecordException;
@@ -14,17 +15,23 @@ public interface RecordService {
 
     RecordDto getRecordById(Long id) throws RecordException;
 
-    List<RecordDetailDto> getRecentRecordsByUserId(Long userId) throws RecordException;
+    List<RecordDetailDto> getRecentRecordsByUserId(Long userId, Long cursor, int size) throws RecordException;
 
     UserRecordInfoDto getUserRecordInfo(Long userId) throws RecordException;
 
-    List<PlayedGameCountRankingDto> rankPlayedGameCount() throws RecordException;
+    void addGameResults(String gameType, int roomSize, Map<Long, Boolean> wins, int matchedPieceCount) throws RecordException;
 
-    List<WinCountRankingDto> rankSoloBattleWinCount() throws RecordException;
+    void rebuildUserStats() throws RecordException;
 
-    List<WinCountRankingDto> rankTeamBattleWinCount() throws RecordException;
+    List<PlayedGameCountRankingDto> rankPlayedGameCount(int page, int size) throws RecordException;
 
-    List<WinningRateRankingDto> rankWinningRate() throws RecordException;
+    List<WinCountRankingDto> rankSoloBattleWinCount(int page, int size) throws RecordException;
+
+    List<WinCountRankingDto> rankTeamBattleWinCount(int page, int size) throws RecordException;
+
+    List<WinningRateRankingDto> rankWinningRate(int page, int size) throws RecordException;
 
     UserRankingDto getRankByUserId(Long userId) throws RecordException;
+
+    List<RankingNeighborDto> getRankingNeighbors(Long userId, String board, int range) throws RecordException;
 }
@@ -6,21 +6,31 @@ import com.ssafy.puzzlepop.record.domain.Record;
 import com.ssafy.puzzlepop.record.domain.*;
 import com.ssafy.puzzlepop.record.exception.RecordException;
 import com.ssafy.puzzlepop.record.repository.RecordRepository;
+import com.ssafy.puzzlepop.record.repository.UserStatsRepository;
 import com.ssafy.puzzlepop.team.domain.TeamDto;
 import com.ssafy.puzzlepop.team.service.TeamService;
 import com.ssafy.puzzlepop.teamuser.domain.TeamUserResponseDto;
 import com.ssafy.puzzlepop.teamuser.service.TeamUserService;
-import com.ssafy.puzzlepop.user.domain.UserDto;
 import com.ssafy.puzzlepop.user.domain.UserInfoDto;
 import com.ssafy.puzzlepop.user.service.UserService;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+@Slf4j
 @Service
 public class RecordServiceImpl implements RecordService {
 
@@ -29,15 +39,50 @@ public class RecordServiceImpl implements RecordService {
     private final TeamService teamService;
     private final TeamUserService teamUserService;
     private final UserService userService;
-
+    private final UserStatsRepository userStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 없으면 이번 게임 값으로 넣고, 있으면 더함 (승률은 더하기 전 값 기준으로 먼저 계산)
+    private static final String UPSERT_USER_STATS = "INSERT INTO user_stats (user_id, played_game_count, matched_piece_count, "
+            + "battle_game_count, battle_win_count, winning_rate, solo_battle_game_count, solo_battle_win_count, "
+            + "team_battle_game_count, team_battle_win_count, updated_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "winning_rate = CASE WHEN battle_game_count + ? = 0 THEN 0 ELSE CAST(battle_win_count + ? AS DOUBLE) / (battle_game_count + ?) * 100 END, "
+            + "played_game_count = played_game_count + ?, matched_piece_count = matched_piece_count + ?, "
+            + "battle_game_count = battle_game_count + ?, battle_win_count = battle_win_count + ?, "
+            + "solo_battle_game_count = solo_battle_game_count + ?, solo_battle_win_count = solo_battle_win_count + ?, "
+            + "team_battle_game_count = team_battle_game_count + ?, team_battle_win_count = team_battle_win_count + ?, "
+            + "updated_time = ?";
+
+    private static final int MAX_RANKING_PAGE_SIZE = 100;
+    private static final int MAX_NEIGHBOR_RANGE = 50;
+    private static final int MAX_RECORD_PAGE_SIZE = 50;
+
+    // 개인 순위 조회용 메모리 색인 (시작할 때 UserStats 로 만들고 게임 저장마다 갱신)
+    private final RankIndex playedGameCountIndex = new RankIndex();
+    private final RankIndex soloBattleWinCountIndex = new RankIndex();
+    private final RankIndex teamBattleWinCountIndex = new RankIndex();
+    private final RankIndex winningRateIndex = new RankIndex();
 
     @Autowired
-    public RecordServiceImpl(RecordRepository recordRepository, GameInfoService gameInfoService, TeamService teamService, TeamUserService teamUserService, UserService userService) {
+    public RecordServiceImpl(RecordRepository recordRepository, GameInfoService gameInfoService, TeamService teamService, TeamUserService teamUserService, UserService userService, UserStatsRepository userStatsRepository, JdbcTemplate jdbcTemplate) {
         this.recordRepository = recordRepository;
         this.gameInfoService = gameInfoService;
         this.teamService = teamService;
         this.teamUserService = teamUserService;
         this.userService = userService;
+        this.userStatsRepository = userStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    private void init() throws RecordException {
+        // 누적 전적 테이블이 새로 생긴 경우 기존 기록으로 채움
+        if (userStatsRepository.count() == 0 && recordRepository.count() > 0) {
+            rebuildUserStats();
+        } else {
+            loadRankIndexes(userStatsRepository.findAll());
+        }
     }
 
     ///////
@@ -128,34 +173,63 @@ public class RecordServiceImpl implements RecordService {
 
     @Transactional
     @Override
-    public List<RecordDetailDto> getRecentRecordsByUserId(Long userId) throws RecordException {
+    public List<RecordDetailDto> getRecentRecordsByUserId(Long userId, Long cursor, int size) throws RecordException {
         if (userId == null) {
             throw new RecordException("bad request");
         }
 
         try {
-            // userId에 대한 전체 전적 목록
-            List<Record> recordList = recordRepository.findByUserId(userId);
-            Collections.reverse(recordList); // 최신 순으로 정렬
+            // userId에 대한 최근 전적 한 페이지 (최신 순, cursor 보다 오래된 것만)
+            PageRequest pageRequest = PageRequest.of(0, Math.min(Math.max(size, 1), MAX_RECORD_PAGE_SIZE));
+            List<Record> recordList = cursor == null
+                    ? recordRepository.findByUserIdOrderByIdDesc(userId, pageRequest)
+                    : recordRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, cursor, pageRequest);
 
             // 전적 정보 담을 리스트 생성
             List<RecordDetailDto> recordDetailList = new ArrayList<>();
+            if (recordList.isEmpty()) {
+                return recordDetailList;
+            }
 
-            // 전적이 20개 이상인 경우, 최근 20개만 거르기
-            if (recordList.size() > 20) { // 20개 이상인 경우 리스트 자르기
-                recordList.subList(0, 19);
+            // 페이지의 게임 정보, 팀, 팀원을 각각 한 번에 조회
+            List<Long> gameIdList = new ArrayList<>();
+            for (Record record : recordList) {
+                gameIdList.add(record.getGameId());
+            }
+
+            Map<Long, GameInfoDto> gameInfoMap = new HashMap<>();
+            for (GameInfoDto gameInfoDto : gameInfoService.readGameInfos(gameIdList)) {
+                gameInfoMap.put(gameInfoDto.getId(), gameInfoDto);
+            }
+
+            Map<Long, List<TeamDto>> teamMap = new HashMap<>();
+            List<Long> teamIdList = new ArrayList<>();
+            for (TeamDto teamDto : teamService.findAllByGameIdIn(gameIdList)) {
+                teamMap.computeIfAbsent(teamDto.getGameId(), k -> new ArrayList<>()).add(teamDto);
+                teamIdList.add(teamDto.getId());
+            }
+
+            Map<Long, List<TeamUserResponseDto>> teamUserMap = new HashMap<>();
+            if (!teamIdList.isEmpty()) {
+                for (TeamUserResponseDto teamUserDto : teamUserService.findAllByTeamIdIn(teamIdList)) {
+                    teamUserMap.computeIfAbsent(teamUserDto.getTeam().getId(), k -> new ArrayList<>()).add(teamUserDto);
+                }
             }
 
             // 각 recordDetailDto 채우기!
             for (Record record : recordList) {
                 RecordDetailDto recordDetailDto = new RecordDetailDto();
+                recordDetailDto.setRecordId(record.getId());
 
                 // gameId 바탕으로 gameInfo 가져오기
-                GameInfoDto gameInfoDto = gameInfoService.readGameInfo(record.getGameId());
+                GameInfoDto gameInfoDto = gameInfoMap.get(record.getGameId());
+                if (gameInfoDto == null) {
+                    throw new RecordException("game info doesn't exist");
+                }
                 recordDetailDto.setGameInfo(gameInfoDto);
 
                 // gameId 바탕으로 teamList 가져오기
-                List<TeamDto> teamDtoList = teamService.findAllByGameId(record.getGameId());
+                List<TeamDto> teamDtoList = teamMap.getOrDefault(record.getGameId(), new ArrayList<>());
                 recordDetailDto.setTeamList(teamDtoList);
 
                 // 싱글 게임인 경우
@@ -166,20 +240,14 @@ public class RecordServiceImpl implements RecordService {
                 // 협동 게임인 경우
                 // teamList1에 담고 teamList2는 null로 리턴
                 else if ("COOPERATION".equals(gameInfoDto.getType())) {
-                    List<TeamUserResponseDto> userTeamDtoList = teamUserService.findAllByTeamId(teamDtoList.get(0).getId());
-                    recordDetailDto.setUserTeamList1(userTeamDtoList);
+                    recordDetailDto.setUserTeamList1(teamUserMap.getOrDefault(teamDtoList.get(0).getId(), new ArrayList<>()));
                     recordDetailList.add(recordDetailDto);
                 }
                 // 배틀 게임인 경우
                 // teamList1과 teamList2 모두 정보 담아 리턴
                 else if ("BATTLE".equals(gameInfoDto.getType())) {
-
-                    List<TeamUserResponseDto> userTeamDtoList = teamUserService.findAllByTeamId(teamDtoList.get(0).getId());
-                    recordDetailDto.setUserTeamList1(userTeamDtoList);
-
-                    List<TeamUserResponseDto> userTeamDtoList2 = teamUserService.findAllByTeamId(teamDtoList.get(1).getId());
-                    recordDetailDto.setUserTeamList2(userTeamDtoList2);
-
+                    recordDetailDto.setUserTeamList1(teamUserMap.getOrDefault(teamDtoList.get(0).getId(), new ArrayList<>()));
+                    recordDetailDto.setUserTeamList2(teamUserMap.getOrDefault(teamDtoList.get(1).getId(), new ArrayList<>()));
                     recordDetailList.add(recordDetailDto);
                 }
                 // 셋 다 아님. 여기까지 왔다는 건 뭔가 문제가 있다는 것...
@@ -210,33 +278,18 @@ public class RecordServiceImpl implements RecordService {
             // uid
             userRecordInfoDto.setUserId(userId);
 
+            // 누적 전적 (한 판도 안 했으면 전부 0)
+            UserStats userStats = userStatsRepository.findById(userId).orElse(UserStats.empty(userId));
+
             // 전체 맞춘 피스수
-            int totalMatchedPieceCount = getTotalMatchedPieceCount(userId);
-            userRecordInfoDto.setTotalMatchedPieceCount(totalMatchedPieceCount);
+            userRecordInfoDto.setTotalMatchedPieceCount(userStats.getMatchedPieceCount());
 
             // 전체 플레이 게임 횟수
-            int playedGameCount = recordRepository.countByUserId(userId);
-            userRecordInfoDto.setPlayedGameCount(playedGameCount);
-
-            // 배틀게임 플레이 횟수
-            int playedBattleGameCount = 0;
-            // 이긴 배틀게임 수
-            int battleGameWinCount = 0;
+            userRecordInfoDto.setPlayedGameCount(userStats.getPlayedGameCount());
 
-            List<Record> recordList = recordRepository.findByUserId(userId);
-            for (Record record : recordList) {
-                GameInfoDto gameInfoDto = gameInfoService.readGameInfo(record.getGameId());
-                if ("BATTLE".equals(gameInfoDto.getType())) { // 배틀 게임이면
-                    playedBattleGameCount++; // 횟수 카운트 ++
-
-                    // 소속 팀 확인
-                    if (didUserWin(userId, gameInfoDto.getId())) {
-                        battleGameWinCount++;
-                    }
-                }
-            }
-            userRecordInfoDto.setPlayedBattleGameCount(playedBattleGameCount);
-            userRecordInfoDto.setWinCount(battleGameWinCount);
+            // 배틀게임 플레이 횟수, 이긴 배틀게임 수
+            userRecordInfoDto.setPlayedBattleGameCount(userStats.getBattleGameCount());
+            userRecordInfoDto.setWinCount(userStats.getBattleWinCount());
 
             return userRecordInfoDto;
         } catch (Exception e) {
@@ -246,114 +299,171 @@ public class RecordServiceImpl implements RecordService {
 
     }
 
+    // 게임 한 판 끝날 때 참가한 회원 전체를 한 번에 (userId -> 이겼는지)
+    // 조회 없이 배치 upsert 한 번으로 누적값을 더함
+    @Transactional
     @Override
-    public List<PlayedGameCountRankingDto> rankPlayedGameCount() throws RecordException {
-        List<PlayedGameCountRankingDto> playedGameCountRanking = new ArrayList<>();
+    public void addGameResults(String gameType, int roomSize, Map<Long, Boolean> wins, int matchedPieceCount) throws RecordException {
+        if (wins == null || wins.containsKey(null)) {
+            throw new RecordException("bad request");
+        }
+        if (wins.isEmpty()) {
+            return;
+        }
 
         try {
-
-            List<RankingQueryDto> queryDtoList = recordRepository.countGamesByUserId();
-//            System.out.println(queryDtoList);
-            for (RankingQueryDto qd : queryDtoList) {
-                UserDto user = userService.getUserById(qd.getUserId());
-                UserInfoDto userInfoDto = new UserInfoDto(qd.getUserId(), user.getEmail(), user.getNickname(), user.getImgPath(), user.getLocale(), user.getFamilyName(), user.getGivenName(), user.getPlayingGameID(), user.getOnlineStatus());
-                playedGameCountRanking.add(new PlayedGameCountRankingDto(userInfoDto, (int) qd.getQueriedCount()));
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = new ArrayList<>(wins.size());
+            for (Map.Entry<Long, Boolean> win : wins.entrySet()) {
+                // 이번 게임만 반영한 값 = 더할 값
+                UserStats delta = UserStats.empty(win.getKey());
+                delta.addGame(gameType, roomSize, win.getValue(), matchedPieceCount);
+                rows.add(new Object[]{
+                        delta.getUserId(), delta.getPlayedGameCount(), delta.getMatchedPieceCount(),
+                        delta.getBattleGameCount(), delta.getBattleWinCount(), delta.getWinningRate(),
+                        delta.getSoloBattleGameCount(), delta.getSoloBattleWinCount(),
+                        delta.getTeamBattleGameCount(), delta.getTeamBattleWinCount(), now,
+
+                        delta.getBattleGameCount(), delta.getBattleWinCount(), delta.getBattleGameCount(),
+                        delta.getPlayedGameCount(), delta.getMatchedPieceCount(),
+                        delta.getBattleGameCount(), delta.getBattleWinCount(),
+                        delta.getSoloBattleGameCount(), delta.getSoloBattleWinCount(),
+                        delta.getTeamBattleGameCount(), delta.getTeamBattleWinCount(), now
+                });
             }
+            jdbcTemplate.batchUpdate(UPSERT_USER_STATS, rows);
 
-            return playedGameCountRanking;
-
+            List<Long> userIds = new ArrayList<>(wins.keySet());
+            afterCommit(() -> refreshRankIndexes(userIds));
         } catch (Exception e) {
-//            e.printStackTrace();
-            throw new RecordException("ERROR");
+            throw new RecordException("error occurred during update user stats");
         }
-
-        // 서비스 시작할 땐 플레이된 게임이 없을 테니 리스트가 null일 수도 있긴 함.. ^_^
     }
 
+    // 전체 기록으로 누적 전적 테이블 다시 만들기 (테이블이 처음 생겼을 때)
+    @Transactional
     @Override
-    public List<WinCountRankingDto> rankSoloBattleWinCount() throws RecordException {
+    public void rebuildUserStats() throws RecordException {
         try {
-            List<WinCountRankingDto> soloBattleWinCountRanking = new ArrayList<>();
+            Map<Long, UserStats> statsMap = new HashMap<>();
+            for (RankingQueryDto qd : recordRepository.countGamesByUserId()) {
+                UserStats userStats = UserStats.empty(qd.getUserId());
+                userStats.setPlayedGameCount((int) qd.getQueriedCount());
+                statsMap.put(qd.getUserId(), userStats);
+            }
 
-            List<UserInfoDto> userList = userService.getAllUsers();
-            for (UserInfoDto user : userList) {
-                int playedSoloBattleGameCount = 0;
-                int soloBattleWinCount = 0;
+            for (RankingQueryDto qd : recordRepository.sumMatchedPieceCountByUserId()) {
+                UserStats userStats = statsMap.get(qd.getUserId());
+                if (userStats != null) { // 비회원은 기록이 없으므로 제외
+                    userStats.setMatchedPieceCount((int) qd.getQueriedCount());
+                }
+            }
 
-                List<Record> recordList = recordRepository.findByUserId(user.getId());
-                if (recordList == null || recordList.isEmpty()) { // 한 판도 플레이하지 않은 유저
-                    // 랭킹에 포함되지 않음. 패스
-                    continue;
+            for (BattleStatQueryDto stat : recordRepository.countBattleStatsByUserId()) {
+                UserStats userStats = statsMap.get(stat.getUserId());
+                if (userStats != null) {
+                    userStats.setBattleGameCount((int) stat.getPlayedGameCount());
+                    userStats.setBattleWinCount((int) stat.getWinCount());
                 }
+            }
 
-                for (Record record : recordList) {
-                    GameInfoDto gameInfoDto = gameInfoService.readGameInfo(record.getGameId()); // 각 record에 대해 gid로 gameinfo 조회
-                    if ("BATTLE".equals(gameInfoDto.getType()) && gameInfoDto.getMaxPlayerCount() == 2) { // 배틀 게임 + 2명 게임이면
-                        playedSoloBattleGameCount++; // 1:1 배틀 게임 플레이 횟수 ++
+            for (BattleStatQueryDto stat : recordRepository.countBattleStatsByUserId(2, 2)) {
+                UserStats userStats = statsMap.get(stat.getUserId());
+                if (userStats != null) {
+                    userStats.setSoloBattleGameCount((int) stat.getPlayedGameCount());
+                    userStats.setSoloBattleWinCount((int) stat.getWinCount());
+                }
+            }
 
-                        if (didUserWin(user.getId(), gameInfoDto.getId())) { // 이 게임에서 이겼으면
-                            soloBattleWinCount++; // 1:1 배틀 승리 횟수 ++
-                        }
-                    }
+            for (BattleStatQueryDto stat : recordRepository.countBattleStatsByUserId(4, Integer.MAX_VALUE)) {
+                UserStats userStats = statsMap.get(stat.getUserId());
+                if (userStats != null) {
+                    userStats.setTeamBattleGameCount((int) stat.getPlayedGameCount());
+                    userStats.setTeamBattleWinCount((int) stat.getWinCount());
                 }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (UserStats userStats : statsMap.values()) {
+                userStats.updateWinningRate();
+                userStats.setUpdatedTime(now);
+            }
+
+            userStatsRepository.deleteAllInBatch();
+            userStatsRepository.saveAll(statsMap.values());
+            List<UserStats> statsList = new ArrayList<>(statsMap.values());
+            afterCommit(() -> loadRankIndexes(statsList));
+        } catch (Exception e) {
+            throw new RecordException("error occurred during rebuild user stats");
+        }
+    }
+
+    @Override
+    public List<PlayedGameCountRankingDto> rankPlayedGameCount(int page, int size) throws RecordException {
+        List<PlayedGameCountRankingDto> playedGameCountRanking = new ArrayList<>();
 
-                if (playedSoloBattleGameCount == 0) { // 1:1 배틀 게임 플레이한 적 없는 사용자
+        try {
+
+            List<UserStats> statsPage = userStatsRepository.findAllByPlayedGameCountGreaterThan(0, rankingPage(page, size, "playedGameCount"));
+            Map<Long, UserInfoDto> users = findUsers(statsPage);
+            for (UserStats userStats : statsPage) {
+                UserInfoDto userInfoDto = users.get(userStats.getUserId());
+                if (userInfoDto == null) { // 탈퇴한 유저
                     continue;
                 }
-                soloBattleWinCountRanking.add(new WinCountRankingDto(user, soloBattleWinCount, playedSoloBattleGameCount));
+                playedGameCountRanking.add(new PlayedGameCountRankingDto(userInfoDto, userStats.getPlayedGameCount()));
             }
 
-            // sort by win count desc
-            Collections.sort(soloBattleWinCountRanking);
-            Collections.reverse(soloBattleWinCountRanking);
+            return playedGameCountRanking;
 
-            return soloBattleWinCountRanking;
         } catch (Exception e) {
 //            e.printStackTrace();
-            throw new RecordException("error occurred during rank solo battle win count");
+            throw new RecordException("ERROR");
         }
 
+        // 서비스 시작할 땐 플레이된 게임이 없을 테니 리스트가 null일 수도 있긴 함.. ^_^
     }
 
     @Override
-    public List<WinCountRankingDto> rankTeamBattleWinCount() throws RecordException {
+    public List<WinCountRankingDto> rankSoloBattleWinCount(int page, int size) throws RecordException {
         try {
-            List<WinCountRankingDto> teamBattleWinCountRanking = new ArrayList<>();
-
-            List<UserInfoDto> userList = userService.getAllUsers();
-            System.out.println(userList);
-            for (UserInfoDto user : userList) {
-                int playedTeamBattleGameCount = 0;
-                int teamBattleWinCount = 0;
-
-                List<Record> recordList = recordRepository.findByUserId(user.getId());
+            List<WinCountRankingDto> soloBattleWinCountRanking = new ArrayList<>();
 
-                if (recordList == null || recordList.isEmpty()) { // 한 판도 플레이하지 않은 유저
-                    // 랭킹에 포함되지 않음. 패스
+            // 1:1 배틀 게임 (2명 게임), 승리 횟수 내림차순
+            List<UserStats> statsPage = userStatsRepository.findAllBySoloBattleGameCountGreaterThan(0, rankingPage(page, size, "soloBattleWinCount"));
+            Map<Long, UserInfoDto> users = findUsers(statsPage);
+            for (UserStats userStats : statsPage) {
+                UserInfoDto user = users.get(userStats.getUserId());
+                if (user == null) {
                     continue;
                 }
+                soloBattleWinCountRanking.add(new WinCountRankingDto(user, userStats.getSoloBattleWinCount(), userStats.getSoloBattleGameCount()));
+            }
 
-                for (Record record : recordList) {
-                    GameInfoDto gameInfoDto = gameInfoService.readGameInfo(record.getGameId()); // 각 record에 대해 gid로 gameinfo 조회
-                    if ("BATTLE".equals(gameInfoDto.getType()) && gameInfoDto.getMaxPlayerCount() >= 4) { // 배틀 게임 + 4명 이상 게임이면
-                        playedTeamBattleGameCount++; // n:n 배틀 게임 플레이 횟수 ++
+            return soloBattleWinCountRanking;
+        } catch (Exception e) {
+//            e.printStackTrace();
+            throw new RecordException("error occurred during rank solo battle win count");
+        }
 
-                        if (didUserWin(user.getId(), gameInfoDto.getId())) { // 이 게임에서 이겼으면
-                            teamBattleWinCount++; // n:n 배틀 승리 횟수 ++
-                        }
-                    }
-                }
+    }
 
-                if (playedTeamBattleGameCount == 0) { // n:n 배틀 게임 플레이한 적 없는 사용자
+    @Override
+    public List<WinCountRankingDto> rankTeamBattleWinCount(int page, int size) throws RecordException {
+        try {
+            List<WinCountRankingDto> teamBattleWinCountRanking = new ArrayList<>();
+
+            // n:n 배틀 게임 (4명 이상 게임), 승리 횟수 내림차순
+            List<UserStats> statsPage = userStatsRepository.findAllByTeamBattleGameCountGreaterThan(0, rankingPage(page, size, "teamBattleWinCount"));
+            Map<Long, UserInfoDto> users = findUsers(statsPage);
+            for (UserStats userStats : statsPage) {
+                UserInfoDto user = users.get(userStats.getUserId());
+                if (user == null) {
                     continue;
                 }
-                teamBattleWinCountRanking.add(new WinCountRankingDto(user, teamBattleWinCount, playedTeamBattleGameCount));
+                teamBattleWinCountRanking.add(new WinCountRankingDto(user, userStats.getTeamBattleWinCount(), userStats.getTeamBattleGameCount()));
             }
 
-            // sort
-            Collections.sort(teamBattleWinCountRanking);
-            Collections.reverse(teamBattleWinCountRanking);
-
             return teamBattleWinCountRanking;
         } catch (Exception e) {
 //            e.printStackTrace();
@@ -363,50 +473,22 @@ public class RecordServiceImpl implements RecordService {
     }
 
     @Override
-    public List<WinningRateRankingDto> rankWinningRate() throws RecordException {
+    public List<WinningRateRankingDto> rankWinningRate(int page, int size) throws RecordException {
         try {
 
             List<WinningRateRankingDto> winningRateRanking = new ArrayList<>();
 
-            // 필요한 값 : 전체 유저에 대해 전체 게임 플레이 횟수 / 전체 이긴 횟수
-            // 그에 따라 백분율 승률 계산하기
-
-            List<UserInfoDto> userList = userService.getAllUsers();
-            for (UserInfoDto user : userList) {
-                int playedBattleGameCount = 0;
-                int battleWinCount = 0;
-
-                List<Record> recordList = recordRepository.findByUserId(user.getId());
-                if (recordList == null) { // 한 판도 플레이하지 않은 유저
-                    // 랭킹에 포함되지 않음. 패스
-                    continue;
-                } else if (recordList.isEmpty()) {
+            // 배틀 게임 한 번이라도 한 유저들, 백분율 승률 내림차순
+            List<UserStats> statsPage = userStatsRepository.findAllByBattleGameCountGreaterThan(0, rankingPage(page, size, "winningRate"));
+            Map<Long, UserInfoDto> users = findUsers(statsPage);
+            for (UserStats userStats : statsPage) {
+                UserInfoDto user = users.get(userStats.getUserId());
+                if (user == null) {
                     continue;
                 }
-
-                for (Record record : recordList) {
-                    GameInfoDto gameInfoDto = gameInfoService.readGameInfo(record.getGameId()); // 각 record에 대해 gid로 gameinfo 조회
-                    if ("BATTLE".equals(gameInfoDto.getType())) { // 배틀 게임 + 2명 게임이면
-                        playedBattleGameCount++; // 1:1 배틀 게임 플레이 횟수 ++
-
-                        if (didUserWin(user.getId(), gameInfoDto.getId())) { // 이 게임에서 이겼으면
-                            battleWinCount++; // 1:1 배틀 승리 횟수 ++
-                        }
-                    }
-                }
-
-                if (playedBattleGameCount == 0) { // 배틀게임 한 번도 플레이한 적 없는 사용자
-                    continue;
-                }
-
-                double winningRate = (double) battleWinCount / playedBattleGameCount * 100;
-                winningRateRanking.add(new WinningRateRankingDto(user, winningRate, battleWinCount, playedBattleGameCount));
+                winningRateRanking.add(new WinningRateRankingDto(user, userStats.getWinningRate(), userStats.getBattleWinCount(), userStats.getBattleGameCount()));
             }
 
-            // sort
-            Collections.sort(winningRateRanking);
-            Collections.reverse(winningRateRanking);
-
             return winningRateRanking;
         } catch (Exception e) {
             throw new RecordException("error occurred during rank winning rate");
@@ -415,50 +497,20 @@ public class RecordServiceImpl implements RecordService {
 
     @Override
     public UserRankingDto getRankByUserId(Long userId) throws RecordException {
+        if (userId == null) {
+            throw new RecordException("bad request");
+        }
+
         try {
             UserRankingDto userRankingDto = new UserRankingDto();
 
             userRankingDto.setUserId(userId);
 
-            int pgcRank = -1;
-            List<PlayedGameCountRankingDto> pgcRanking = rankPlayedGameCount();
-            for (int i = 0; i < pgcRanking.size(); ++i) {
-                if (userId.equals(pgcRanking.get(i).getUser().getId())) {
-                    pgcRank = i + 1;
-                    break;
-                }
-            }
-            userRankingDto.setPlayedGameCountRank(pgcRank);
-
-            int sbwcRank = -1;
-            List<WinCountRankingDto> sbwcRanking = rankSoloBattleWinCount();
-            for (int i = 0; i < sbwcRanking.size(); ++i) {
-                if (userId.equals(sbwcRanking.get(i).getUser().getId())) {
-                    sbwcRank = i + 1;
-                    break;
-                }
-            }
-            userRankingDto.setSoloBattleWinCountRank(sbwcRank);
-
-            int tbwcRank = -1;
-            List<WinCountRankingDto> tbwcRanking = rankTeamBattleWinCount();
-            for (int i = 0; i < tbwcRanking.size(); ++i) {
-                if (userId.equals(tbwcRanking.get(i).getUser().getId())) {
-                    tbwcRank = i + 1;
-                    break;
-                }
-            }
-            userRankingDto.setTeamBattleWinCountRank(tbwcRank);
-
-            int wrRank = -1;
-            List<WinningRateRankingDto> wrRanking = rankWinningRate();
-            for (int i = 0; i < wrRanking.size(); ++i) {
-                if (userId.equals(wrRanking.get(i).getUser().getId())) {
-                    wrRank = i + 1;
-                    break;
-                }
-            }
-            userRankingDto.setWinningRateRank(wrRank);
+            // 랭킹에 없으면 -1
+            userRankingDto.setPlayedGameCountRank(playedGameCountIndex.rank(userId));
+            userRankingDto.setSoloBattleWinCountRank(soloBattleWinCountIndex.rank(userId));
+            userRankingDto.setTeamBattleWinCountRank(teamBattleWinCountIndex.rank(userId));
+            userRankingDto.setWinningRateRank(winningRateIndex.rank(userId));
 
             return userRankingDto;
         } catch (Exception e) {
@@ -467,54 +519,138 @@ public class RecordServiceImpl implements RecordService {
 
     }
 
+    @Override
+    public List<RankingNeighborDto> getRankingNeighbors(Long userId, String board, int range) throws RecordException {
+        RankIndex rankIndex = rankIndex(board);
+        if (userId == null || rankIndex == null || range < 0) {
+            throw new RecordException("bad request");
+        }
+
+        try {
+            List<RankingNeighborDto> neighbors = new ArrayList<>();
+
+            // 유저 앞뒤로 range 명씩 (랭킹에 없으면 빈 목록)
+            List<Long> userIds = rankIndex.window(userId, Math.min(range, MAX_NEIGHBOR_RANGE));
+            if (userIds.isEmpty()) {
+                return neighbors;
+            }
+
+            int firstRank = rankIndex.rank(userIds.get(0));
+            Map<Long, UserInfoDto> users = findUsersById(userIds);
+            for (int i = 0; i < userIds.size(); i++) {
+                UserInfoDto user = users.get(userIds.get(i));
+                if (user == null) {
+                    continue;
+                }
+                neighbors.add(new RankingNeighborDto(firstRank + i, user, rankIndex.score(userIds.get(i))));
+            }
+
+            return neighbors;
+        } catch (Exception e) {
+            throw new RecordException("error occurred during get ranking neighbors");
+        }
+    }
 
     ////////////////////////////////////////////////////////////////////////
 
 
-    private int getTeamNumber(Long userId, Long gameId) { // 1: team1 / 2: team2 / 0: 이 게임을 플레이하지 않았음
+    // 값 내림차순, 같으면 userId 내림차순
+    private static PageRequest rankingPage(int page, int size, String property) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_RANKING_PAGE_SIZE);
+        return PageRequest.of(Math.max(page, 0), pageSize, Sort.by(Sort.Direction.DESC, property, "userId"));
+    }
 
-        List<TeamDto> teamDtoList = teamService.findAllByGameId(gameId);
+    // 메모리 색인은 커밋된 값만 반영 (롤백되면 색인도 그대로), 트랜잭션 밖이면 바로
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
 
-        // 레드 팀 멤버였는지 확인
-        List<TeamUserResponseDto> userTeamDtoList = teamUserService.findAllByTeamId(teamDtoList.get(0).getId());
-        for (TeamUserResponseDto utd : userTeamDtoList) {
-            if (userId.equals(utd.getUser().getId())) {
-                return 1;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 이미 커밋된 뒤라 여기서 던지면 저장이 실패한 것처럼 보여 다시 더해질 수 있으므로 삼킴
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("랭킹 색인 갱신 실패", e);
+                }
             }
+        });
+    }
+
+    // 커밋된 값을 다시 읽어서 색인 갱신
+    // 저장 스레드가 여러 개일 수 있으므로 읽기와 반영을 한 번에 하나씩 (먼저 읽은 옛 값이 나중에 덮어쓰지 않도록)
+    private synchronized void refreshRankIndexes(List<Long> userIds) {
+        for (UserStats userStats : userStatsRepository.findAllById(userIds)) {
+            indexUserStats(userStats);
         }
-        // 레드 팀 아니면 블루 팀도 확인
-        userTeamDtoList = teamUserService.findAllByTeamId(teamDtoList.get(1).getId());
-        for (TeamUserResponseDto utd : userTeamDtoList) {
-            if (userId.equals(utd.getUser().getId())) {
-                return 2;
-            }
+    }
+
+    // 메모리 랭킹 색인 다시 만들기
+    private void loadRankIndexes(List<UserStats> statsList) {
+        playedGameCountIndex.clear();
+        soloBattleWinCountIndex.clear();
+        teamBattleWinCountIndex.clear();
+        winningRateIndex.clear();
+
+        for (UserStats userStats : statsList) {
+            indexUserStats(userStats);
         }
+    }
 
-        // 둘 다 아니면 이 게임 플레이하지 않은 유저인 것
-        return 0;
+    // 해당 랭킹 조건(한 판 이상)을 만족하는 색인에만 등록
+    private void indexUserStats(UserStats userStats) {
+        long userId = userStats.getUserId();
+        putOrRemove(playedGameCountIndex, userId, userStats.getPlayedGameCount() > 0, userStats.getPlayedGameCount());
+        putOrRemove(soloBattleWinCountIndex, userId, userStats.getSoloBattleGameCount() > 0, userStats.getSoloBattleWinCount());
+        putOrRemove(teamBattleWinCountIndex, userId, userStats.getTeamBattleGameCount() > 0, userStats.getTeamBattleWinCount());
+        putOrRemove(winningRateIndex, userId, userStats.getBattleGameCount() > 0, userStats.getWinningRate());
     }
 
-    private int getTotalMatchedPieceCount(Long userId) {
-        int totalMatchedPieceCount = 0;
-        List<TeamUserResponseDto> userTeamDtoList = teamUserService.findAllByUserId(userId);
-        for (TeamUserResponseDto utd : userTeamDtoList) {
-            totalMatchedPieceCount += utd.getMatchedPieceCount();
+    private static void putOrRemove(RankIndex rankIndex, long userId, boolean ranked, double score) {
+        if (ranked) {
+            rankIndex.put(userId, score);
+        } else {
+            rankIndex.remove(userId);
         }
-        return totalMatchedPieceCount;
     }
 
-    private boolean didUserWin(Long userId, Long gameId) throws RecordException {
+    // 랭킹 종류 이름 (컨트롤러 경로와 같음) -> 색인
+    private RankIndex rankIndex(String board) {
+        if (board == null) {
+            return null;
+        }
+        switch (board) {
+            case "playedGameCount":
+                return playedGameCountIndex;
+            case "soloBattle":
+                return soloBattleWinCountIndex;
+            case "teamBattle":
+                return teamBattleWinCountIndex;
+            case "winningRate":
+                return winningRateIndex;
+            default:
+                return null;
+        }
+    }
 
-        int teamNumber = getTeamNumber(userId, gameId); // 해당 게임에서 어떤 팀이었는지 확인
-        List<TeamDto> teamDtoList = teamService.findAllByGameId(gameId); // 해당 게임의 두 팀 정보 불러오기
+    // 랭킹에 나오는 유저들 정보 한 번에 조회
+    private Map<Long, UserInfoDto> findUsers(List<UserStats> statsList) {
+        List<Long> userIds = new ArrayList<>(statsList.size());
+        for (UserStats userStats : statsList) {
+            userIds.add(userStats.getUserId());
+        }
+        return findUsersById(userIds);
+    }
 
-        if (teamNumber == 1) { // team1 소속
-            return teamDtoList.get(0).getMatchedPieceCount() > teamDtoList.get(1).getMatchedPieceCount();
-        } else if (teamNumber == 2) { // team2 소속
-            return teamDtoList.get(0).getMatchedPieceCount() < teamDtoList.get(1).getMatchedPieceCount();
-        } else { // 오류 상황
-            throw new RecordException("BAD REQUEST");
+    private Map<Long, UserInfoDto> findUsersById(List<Long> userIds) {
+        Map<Long, UserInfoDto> users = new HashMap<>();
+        for (UserInfoDto user : userService.getUsersByIds(userIds)) {
+            users.put(user.getId(), user);
         }
+        return users;
     }
 
-}
\ No newline at end of file
+}
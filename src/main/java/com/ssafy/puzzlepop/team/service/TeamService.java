@@ -13,5 +13,6 @@ public interface TeamService {
     public Long deleteTeam(Long id);
 
     public List<TeamDto> findAllByGameId(Long gameId);
+    public List<TeamDto> findAllByGameIdIn(List<Long> gameIds);
     public Long updateMatchedPieceCount(TeamDto teamDto);
 }
@@ -53,6 +53,12 @@ public class TeamServiceImpl implements TeamService {
         return teams.stream().map(TeamDto::new).collect(Collectors.toList());
     }
 
+    @Override
+    public List<TeamDto> findAllByGameIdIn(List<Long> gameIds) {
+        List<Team> teams = teamRepository.findAllByGameIdInOrderByIdAsc(gameIds);
+        return teams.stream().map(TeamDto::new).collect(Collectors.toList());
+    }
+
     @Override
     public Long updateMatchedPieceCount(TeamDto requestDto) {
         Team team = teamRepository.findById(requestDto.getId()).orElseThrow(
@@ -3,6 +3,8 @@ package com.ssafy.puzzlepop.teamuser.repository;
 import com.ssafy.puzzlepop.team.domain.Team;
 import com.ssafy.puzzlepop.teamuser.domain.TeamUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,4 +13,8 @@ import java.util.List;
 public interface TeamUserRepository extends JpaRepository<TeamUser, Long> {
     List<TeamUser> findAllByTeamId(Long teamId);
     List<TeamUser> findAllByUserId(Long userId);
+
+    // 여러 팀의 팀원을 팀, 유저까지 한 번에 조회
+    @Query("SELECT tu FROM TeamUser tu JOIN FETCH tu.team JOIN FETCH tu.user WHERE tu.team.id IN :teamIds ORDER BY tu.id")
+    List<TeamUser> findAllWithUserByTeamIdIn(@Param("teamIds") List<Long> teamIds);
 }
@@ -16,4 +16,5 @@ public interface TeamUserService {
     public TeamUserResponseDto readTeamUser(Long id);
     public List<TeamUserResponseDto> findAllByTeamId(Long teamId);
     public List<TeamUserResponseDto> findAllByUserId(Long userId);
+    public List<TeamUserResponseDto> findAllByTeamIdIn(List<Long> teamIds);
 }
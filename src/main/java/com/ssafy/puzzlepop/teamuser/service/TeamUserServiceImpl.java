@@ -40,6 +40,13 @@ public class TeamUserServiceImpl implements TeamUserService{
         return teamUsers.stream().map(TeamUserResponseDto::new).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional
+    public List<TeamUserResponseDto> findAllByTeamIdIn(List<Long> teamIds) {
+        List<TeamUser> teamUsers = teamUserRepository.findAllWithUserByTeamIdIn(teamIds);
+        return teamUsers.stream().map(TeamUserResponseDto::new).collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public List<TeamUserResponseDto> findAllByUserId(Long userId) {
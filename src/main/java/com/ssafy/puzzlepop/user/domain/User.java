@@ -14,6 +14,8 @@ import java.util.Date;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+// 게스트 row 조회 (GuestUserService)
+@Table(indexes = @Index(name = "idx_user_role_given_name", columnList = "role, given_name"))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
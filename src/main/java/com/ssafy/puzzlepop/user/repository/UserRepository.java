@@ -14,4 +14,5 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByEmailContaining(String email);
     List<User> findAllByNicknameContaining(String nickname);
     boolean existsByRefreshToken(String refreshToken);
+    Optional<User> findFirstByRoleAndGivenName(String role, String givenName);
 }
@@ -0,0 +1,76 @@
+package com.ssafy.puzzlepop.user.service;
+
+import com.ssafy.puzzlepop.user.domain.User;
+import com.ssafy.puzzlepop.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 비회원(게스트) 닉네임 -> user id
+// 게임이 끝날 때마다 게스트 row 를 새로 만들지 않고, 닉네임당 하나만 만들어서 재사용
+// 최근에 쓴 닉네임만 메모리에 들고 있음 (개수 제한 + 일정 시간 지나면 DB 에서 다시 확인)
+@Service
+public class GuestUserService {
+    public static final String GUEST_ROLE = "ROLE_GUEST";
+    public static final String GUEST_PROVIDER = "guest";
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> guests;
+
+    private static class Entry {
+        private final Long userId;
+        private final long createdAt;
+
+        private Entry(Long userId, long createdAt) {
+            this.userId = userId;
+            this.createdAt = createdAt;
+        }
+    }
+
+    public GuestUserService(UserRepository userRepository,
+                            @Value("${guest.cache.max-entries:10000}") int maxEntries,
+                            @Value("${guest.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMinutes * 60 * 1000;
+        this.guests = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > GuestUserService.this.maxEntries;
+            }
+        };
+    }
+
+    // 게스트 row 는 처음 게임을 마쳤을 때 한 번만 만들어짐
+    public synchronized Long resolveGuestId(String nickname) {
+        long now = System.currentTimeMillis();
+        Entry entry = guests.get(nickname);
+        if (entry != null && now - entry.createdAt < ttlMillis) {
+            return entry.userId;
+        }
+
+        User guest = userRepository.findFirstByRoleAndGivenName(GUEST_ROLE, nickname).orElse(null);
+        if (guest == null) {
+            guest = userRepository.save(User.builder()
+                    .givenName(nickname) // 닉네임 대신 이름으로 바로 저장해버리기~
+                    .provider(GUEST_PROVIDER)
+                    .role(GUEST_ROLE)
+                    .build());
+        }
+
+        guests.put(nickname, new Entry(guest.getId(), now));
+        return guest.getId();
+    }
+
+    public synchronized void evict(String nickname) {
+        guests.remove(nickname);
+    }
+
+    public synchronized int size() {
+        return guests.size();
+    }
+}
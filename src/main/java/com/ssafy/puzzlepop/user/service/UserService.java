@@ -199,6 +199,16 @@ public class UserService extends DefaultOAuth2UserService {
         return userInfoDtoList;
     }
 
+    public List<UserInfoDto> getUsersByIds(List<Long> ids) {
+        // 해당 id들을 가진 유저들 목록을 한 번에 반환 (없는 id는 빠짐)
+        List<User> users = userRepository.findAllById(ids);
+        List<UserInfoDto> userInfoDtoList = new ArrayList<>();
+        for(User user: users) {
+            userInfoDtoList.add(new UserInfoDto(user.getId(), user.getEmail(), user.getNickname(), user.getImgPath(), user.getLocale(), user.getFamilyName(), user.getGivenName(), user.getPlayingGameID(), user.getOnlineStatus()));
+        }
+        return userInfoDtoList;
+    }
+
     public UserDto getUserById(Long id) {
         // 해당 id를 가진 유저를 반환
         User user = userRepository.findById(id).orElseThrow(
@@ -0,0 +1,129 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.domain.Picture;
+import com.ssafy.puzzlepop.engine.domain.PieceDto;
+import com.ssafy.puzzlepop.engine.domain.PuzzleBoard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryWireTest {
+
+    //클라이언트 -> 서버 드래그 형식 : [1] + (int16, float32, float32) 반복
+    private static byte[] clientDrag(int[] indexes, float[] xs, float[] ys) {
+        ByteBuffer buf = ByteBuffer.allocate(1 + indexes.length * 10);
+        buf.put(BinaryWire.DRAG);
+        for (int i = 0; i < indexes.length; i++) {
+            buf.putShort((short) indexes[i]);
+            buf.putFloat(xs[i]);
+            buf.putFloat(ys[i]);
+        }
+        return buf.array();
+    }
+
+    private static PuzzleBoard board() {
+        Picture p = new Picture();
+        p.setWidth(1000);
+        p.setLength(551);
+        p.setPieceSize(100);
+        p.setLengthPieceCnt(4);
+        p.setWidthPieceCnt(8);
+
+        PuzzleBoard puzzle = new PuzzleBoard();
+        puzzle.init(p, "COOPERATION");
+        return puzzle;
+    }
+
+    @Test
+    @DisplayName("드래그 인코딩 후 다시 읽으면 같은 값 (int16 최대 인덱스 포함)")
+    void dragRoundTrip() {
+        PieceDto[] pieces = {
+                new PieceDto(12.5, -3.25, 0),
+                new PieceDto(1024.75, 768.5, 31),
+                new PieceDto(-0.5, 99999.0, Short.MAX_VALUE)
+        };
+
+        byte[] frame = BinaryWire.encodeDrag(pieces, BinaryWire.team("BLUE"));
+        assertEquals(2 + pieces.length * 10, frame.length);
+        assertEquals(BinaryWire.DRAG, frame[0]);
+        assertEquals(1, frame[1]);
+
+        ByteBuffer buf = ByteBuffer.wrap(frame, 2, frame.length - 2);
+        for (PieceDto piece : pieces) {
+            assertEquals(piece.getIndex(), buf.getShort());
+            assertEquals((float) piece.getX(), buf.getFloat());
+            assertEquals((float) piece.getY(), buf.getFloat());
+        }
+
+        //같은 내용을 클라이언트 형식으로 받아서 팀만 붙여 전달하면 서버 인코딩과 같아야 함
+        byte[] payload = clientDrag(new int[]{0, 31, Short.MAX_VALUE},
+                new float[]{12.5f, 1024.75f, -0.5f}, new float[]{-3.25f, 768.5f, 99999.0f});
+        assertTrue(BinaryWire.isValidDrag(payload));
+        assertArrayEquals(frame, BinaryWire.relayDrag(payload, BinaryWire.team("BLUE")));
+        assertTrue(BinaryWire.dragToJson(payload).contains("\"index\":32767}"));
+    }
+
+    @Test
+    @DisplayName("바이너리 드래그를 판에 적용하고 현재 위치로 다시 인코딩")
+    void applyAndEncodeDrag() {
+        PuzzleBoard puzzle = board();
+        byte[] payload = clientDrag(new int[]{3, 17, 999}, new float[]{10.5f, 200.25f, 1f}, new float[]{20.5f, 300.75f, 1f});
+
+        BitSet moved = new BitSet();
+        BinaryWire.applyDrag(payload, puzzle, moved);
+
+        //판 밖의 인덱스는 무시
+        assertEquals(BitSet.valueOf(new long[]{(1L << 3) | (1L << 17)}), moved);
+        assertEquals(10.5, puzzle.getX(3));
+        assertEquals(300.75, puzzle.getY(17));
+
+        byte[] frame = BinaryWire.encodeDrag(moved, puzzle, BinaryWire.team("RED"));
+        byte[] expected = BinaryWire.relayDrag(Arrays.copyOf(payload, 1 + 2 * 10), BinaryWire.team("RED"));
+        assertArrayEquals(expected, frame);
+    }
+
+    @Test
+    @DisplayName("길이가 틀리거나 좌표가 유한하지 않은 드래그는 거부")
+    void invalidDrag() {
+        assertFalse(BinaryWire.isValidDrag(new byte[]{BinaryWire.DRAG}));
+        assertFalse(BinaryWire.isValidDrag(Arrays.copyOf(clientDrag(new int[]{1}, new float[]{1f}, new float[]{1f}), 10)));
+        assertFalse(BinaryWire.isValidDrag(clientDrag(new int[]{1}, new float[]{Float.NaN}, new float[]{1f})));
+        assertFalse(BinaryWire.isValidDrag(clientDrag(new int[]{1}, new float[]{1f}, new float[]{Float.POSITIVE_INFINITY})));
+    }
+
+    @Test
+    @DisplayName("커서 인코딩, 디코딩")
+    void cursorRoundTrip() {
+        byte[] payload = ByteBuffer.allocate(9).put(BinaryWire.CURSOR).putFloat(-12.75f).putFloat(640.5f).array();
+        assertTrue(BinaryWire.isValidCursor(payload));
+        assertEquals(-12.75f, BinaryWire.cursorX(payload));
+        assertEquals(640.5f, BinaryWire.cursorY(payload));
+
+        byte[] frame = BinaryWire.encodeCursor(3, -12.75f, 640.5f);
+        ByteBuffer buf = ByteBuffer.wrap(frame);
+        assertEquals(BinaryWire.CURSOR, buf.get());
+        assertEquals(3, buf.get());
+        assertEquals(-12.75f, buf.getFloat());
+        assertEquals(640.5f, buf.getFloat());
+
+        assertFalse(BinaryWire.isValidCursor(Arrays.copyOf(payload, 8)));
+    }
+
+    @Test
+    @DisplayName("wire-format: binary 로 연결한 세션만 바이너리")
+    void negotiated() {
+        Map<String, Object> attributes = new HashMap<>();
+        assertFalse(BinaryWire.isBinary(null));
+        assertFalse(BinaryWire.isBinary(attributes));
+
+        attributes.put(BinaryWire.SESSION_ATTRIBUTE, true);
+        assertTrue(BinaryWire.isBinary(attributes));
+    }
+}
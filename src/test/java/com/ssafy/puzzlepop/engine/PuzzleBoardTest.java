@@ -8,6 +8,8 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 class PuzzleBoardTest {
     @Test
     @DisplayName("불지르기 테스트")
@@ -55,6 +57,105 @@ class PuzzleBoardTest {
 
     }
 
+    @Test
+    @DisplayName("뭉탱이 결합 테스트")
+    void bundleTest() {
+        Picture p = new Picture();
+        p.setPieceSize(40);
+        p.setLengthPieceCnt(4);
+        p.setWidthPieceCnt(5);
+
+        PuzzleBoard puzzle = new PuzzleBoard();
+        puzzle.init(p, "COOPERATION");
+
+        puzzle.addPiece(new LinkedList<>(List.of(0, 1)));
+        puzzle.addPiece(new LinkedList<>(List.of(5, 6)));
+        assertEquals(2, puzzle.getBundles().size());
+        assertEquals(4, puzzle.getCorrectedCount());
+
+        //두 뭉탱이에 걸친 조각을 붙이면 하나로 합쳐짐
+        puzzle.addPiece(new LinkedList<>(List.of(1, 6)));
+        assertEquals(1, puzzle.getBundles().size());
+        assertTrue(puzzle.isSameBundle(0, 5));
+
+        puzzle.deletePiece(0);
+        assertEquals(3, puzzle.getCorrectedCount());
+        assertFalse(puzzle.isSameBundle(0, 5));
+
+        for (int i = 0; i < 19; i++) {
+            puzzle.addPiece(new LinkedList<>(List.of(i, i + 1)));
+        }
+        assertEquals(20, puzzle.getCorrectedCount());
+        assertTrue(puzzle.isCompleted());
+    }
+
+    @Test
+    @DisplayName("뭉탱이 해체 테스트")
+    void disbandmentTest() {
+        Picture p = new Picture();
+        p.setPieceSize(40);
+        p.setLengthPieceCnt(4);
+        p.setWidthPieceCnt(5);
+
+        PuzzleBoard puzzle = new PuzzleBoard();
+        puzzle.init(p, "COOPERATION");
+
+        //0-1-2 와 15-16 두 뭉탱이
+        puzzle.addPiece(new LinkedList<>(List.of(0, 1, 2)));
+        puzzle.addPiece(new LinkedList<>(List.of(15, 16)));
+
+        //가운데 조각을 빼면 0 은 혼자 남아서 결합 해제, 2 도 혼자 남아서 결합 해제
+        List<Integer> targets = new LinkedList<>(List.of(1));
+        puzzle.deletePiece(1);
+        puzzle.searchForGroupDisbandment(targets);
+        assertEquals(1, puzzle.getBundles().size());
+        assertEquals(2, puzzle.getCorrectedCount());
+        assertFalse(puzzle.getIsCorrected()[0][0]);
+        assertFalse(puzzle.getIsCorrected()[0][2]);
+
+        //떨어져 있는 조각들을 한 번에 붙이면 맞닿은 조각끼리만 뭉탱이가 됨
+        targets = new LinkedList<>(List.of(4, 9, 17, 19));
+        puzzle.addPiece(targets);
+        puzzle.searchForGroupDisbandment(targets);
+        assertEquals(2, puzzle.getBundles().size());
+        assertTrue(puzzle.isSameBundle(4, 9));
+        assertTrue(puzzle.isSameBundle(15, 17));
+        assertFalse(puzzle.isSameBundle(9, 15));
+        assertFalse(puzzle.getIsCorrected()[3][4]);
+    }
+
+    @Test
+    @DisplayName("변경분 테스트")
+    void deltaTest() {
+        Picture p = new Picture();
+        p.setPieceSize(40);
+        p.setLengthPieceCnt(4);
+        p.setWidthPieceCnt(5);
+
+        PuzzleBoard puzzle = new PuzzleBoard();
+        puzzle.init(p, "COOPERATION");
+        BoardDelta first = puzzle.drainDelta();
+        assertEquals(0, first.getFromRevision());
+
+        //바뀐 게 없으면 revision 그대로
+        BoardDelta empty = puzzle.drainDelta();
+        assertEquals(empty.getFromRevision(), empty.getToRevision());
+        assertTrue(empty.getPieces().isEmpty());
+
+        puzzle.movePiece(7, 100, 200);
+        puzzle.addPiece(new LinkedList<>(List.of(0, 1)));
+        BoardDelta delta = puzzle.drainDelta();
+        assertEquals(empty.getToRevision(), delta.getFromRevision());
+        assertEquals(delta.getFromRevision() + 1, delta.getToRevision());
+        assertEquals(3, delta.getPieces().size());
+
+        PieceState moved = delta.getPieces().get(2);
+        assertEquals(7, moved.getIndex());
+        assertEquals(100, moved.getX());
+        assertEquals(-1, moved.getBundle());
+        assertEquals(delta.getPieces().get(0).getBundle(), delta.getPieces().get(1).getBundle());
+    }
+
 //    @Test
 //    @DisplayName("조각 결합 테스트")
 //    void addTest() {
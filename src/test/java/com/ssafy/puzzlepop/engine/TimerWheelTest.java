@@ -0,0 +1,121 @@
+package com.ssafy.puzzlepop.engine;
+
+import com.ssafy.puzzlepop.engine.domain.Game;
+import com.ssafy.puzzlepop.engine.domain.TimerWheel;
+import com.ssafy.puzzlepop.engine.service.GameClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+    private static final int SIZE = 512;
+
+    //처음 꺼내지는 틱 (없으면 -1)
+    private static <T> long firstExpiry(TimerWheel<T> wheel, T target, long maxTicks) {
+        for (long i = 0; i < maxTicks; i++) {
+            if (wheel.advance().contains(target)) {
+                return wheel.getTick();
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    @DisplayName("한 바퀴 안의 등록은 정확히 그 틱에 한 번만 꺼내짐")
+    void withinOneRotation() {
+        TimerWheel<String> wheel = new TimerWheel<>(SIZE);
+        wheel.schedule("a", 1);
+        wheel.schedule("b", 37);
+        wheel.schedule("c", 0); //최소 1틱
+
+        List<String> first = wheel.advance();
+        assertTrue(first.contains("a"));
+        assertTrue(first.contains("c"));
+        assertEquals(37, firstExpiry(wheel, "b", SIZE));
+        assertEquals(-1, firstExpiry(wheel, "a", 3L * SIZE));
+    }
+
+    @Test
+    @DisplayName("칸 경계 (size, size + 1, size - 1)")
+    void slotBoundary() {
+        for (long delay : new long[]{SIZE - 1, SIZE, SIZE + 1}) {
+            TimerWheel<String> wheel = new TimerWheel<>(SIZE);
+            wheel.schedule("x", delay);
+            assertEquals(delay, firstExpiry(wheel, "x", 3L * SIZE), "delay " + delay);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 바퀴 뒤의 등록, 중간에 등록해도 기준은 등록 시점")
+    void acrossRotations() {
+        TimerWheel<String> wheel = new TimerWheel<>(SIZE);
+        for (int i = 0; i < 100; i++) {
+            wheel.advance();
+        }
+
+        long delay = 3L * SIZE + 17;
+        wheel.schedule("far", delay);
+        assertEquals(100 + delay, firstExpiry(wheel, "far", 5L * SIZE));
+    }
+
+    @Test
+    @DisplayName("배틀 종료 시각 (BATTLE_TIMER + 1)")
+    void battleDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(SIZE);
+        wheel.schedule("battle", GameClock.BATTLE_TIMER + 1);
+        assertEquals(GameClock.BATTLE_TIMER + 1, firstExpiry(wheel, "battle", SIZE));
+    }
+
+    @Test
+    @DisplayName("취소하거나 다시 등록하면 이전 등록은 꺼내지지 않음")
+    void cancelAndReschedule() {
+        TimerWheel<String> wheel = new TimerWheel<>(SIZE);
+        wheel.schedule("cancelled", 10);
+        wheel.schedule("moved", 10);
+        wheel.schedule("kept", 10);
+        wheel.cancel("cancelled");
+        wheel.schedule("moved", SIZE + 20);
+
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < 3 * SIZE; i++) {
+            for (String target : wheel.advance()) {
+                expired.add(target + "@" + wheel.getTick());
+            }
+        }
+        assertEquals(List.of("kept@10", "moved@" + (SIZE + 20)), expired);
+    }
+
+    @Test
+    @DisplayName("게임 시계는 멈춘 배틀은 빼고, 퍼즐을 다 맞춰 끝난 배틀은 방 정리를 위해 종료 시각에 돌려줌")
+    void clockSkipsStoppedKeepsFinished() {
+        GameClock clock = new GameClock();
+        Game running = battle();
+        Game stopped = battle();
+        Game finished = battle();
+        clock.start(running);
+        clock.start(stopped);
+        clock.start(finished);
+
+        clock.stop(stopped);
+        finished.setFinished(true);
+
+        List<Game> expired = new ArrayList<>();
+        for (int i = 0; i <= GameClock.BATTLE_TIMER + 1; i++) {
+            expired.addAll(clock.advance());
+        }
+        assertEquals(2, expired.size());
+        assertTrue(expired.contains(running));
+        assertTrue(expired.contains(finished));
+        assertFalse(expired.contains(stopped));
+    }
+
+    private static Game battle() {
+        Game game = new Game();
+        game.setGameType("BATTLE");
+        return game;
+    }
+}
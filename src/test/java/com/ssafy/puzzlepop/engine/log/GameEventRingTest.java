@@ -0,0 +1,181 @@
+package com.ssafy.puzzlepop.engine.log;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventRingTest {
+    private static final Pattern SEQ = Pattern.compile("\"producer\":(\\d+),\"seq\":(\\d+)");
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+
+    private GameEventRing ring(int capacity) {
+        int[] sampleEvery = new int[GameEventType.values().length];
+        Arrays.fill(sampleEvery, 1);
+        return new GameEventRing(capacity, sampleEvery, out);
+    }
+
+    private boolean publish(GameEventRing ring, int producer, int seq) {
+        return ring.publish("room", GameEventType.ADD_PIECE, "producer", producer, "seq", seq, null, null);
+    }
+
+    private List<String> lines() {
+        String text = bytes.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+
+    //기록 스레드가 count 줄을 쓸 때까지 기다림
+    private void awaitLines(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lines().size() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "timeout waiting for " + count + " lines");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("가득 차면 버리고 개수를 센 뒤, 종료할 때 LOG_DROPPED 로 남김")
+    void dropWhenFull() throws Exception {
+        GameEventRing ring = ring(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publish(ring, 0, i));
+        }
+        assertFalse(publish(ring, 0, 4));
+        assertFalse(publish(ring, 0, 5));
+        assertEquals(2, ring.getDropped());
+
+        ring.start();
+        ring.stop();
+
+        List<String> lines = lines();
+        assertEquals(5, lines.size());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(lines.get(i).contains("\"producer\":0,\"seq\":" + i + "}"), lines.get(i));
+        }
+        assertTrue(lines.get(4).contains("\"event\":\"LOG_DROPPED\",\"count\":2}"), lines.get(4));
+    }
+
+    @Test
+    @DisplayName("기록한 칸은 다시 써서 한 바퀴 넘어도 순서대로 나옴")
+    void wraparound() throws Exception {
+        GameEventRing ring = ring(4);
+        ring.start();
+
+        int seq = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(publish(ring, 0, seq++));
+            }
+            awaitLines(seq);
+        }
+        ring.stop();
+
+        List<String> lines = lines();
+        assertEquals(20, lines.size());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(lines.get(i).contains("\"seq\":" + i + "}"), lines.get(i));
+        }
+        assertEquals(0, ring.getDropped());
+    }
+
+    @Test
+    @DisplayName("여러 방 스레드가 동시에 넣어도 넣은 이벤트는 빠짐없이 한 번씩")
+    void concurrentProducers() throws Exception {
+        int producers = 8;
+        int perProducer = 20000;
+        //일부러 작게 잡아서 버려지는 경우도 생기게 함
+        GameEventRing ring = ring(1024);
+        ring.start();
+
+        List<Set<Long>> published = new ArrayList<>();
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Set<Long> mine = new HashSet<>();
+            published.add(mine);
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (publish(ring, producer, i)) {
+                        mine.add((long) i);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        ring.stop();
+
+        List<Set<Long>> written = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            written.add(new HashSet<>());
+        }
+        long[] lastSeq = new long[producers];
+        Arrays.fill(lastSeq, -1);
+        long droppedReported = 0;
+        for (String line : lines()) {
+            Matcher m = SEQ.matcher(line);
+            if (m.find()) {
+                int producer = Integer.parseInt(m.group(1));
+                long seq = Long.parseLong(m.group(2));
+                assertTrue(written.get(producer).add(seq), "duplicate " + line);
+                //한 스레드가 넣은 순서는 그대로
+                assertTrue(seq > lastSeq[producer], "out of order " + line);
+                lastSeq[producer] = seq;
+            } else {
+                assertTrue(line.contains("\"event\":\"LOG_DROPPED\""), line);
+                droppedReported += Long.parseLong(line.replaceAll(".*\"count\":(\\d+)}", "$1"));
+            }
+        }
+
+        long publishedCount = 0;
+        for (int p = 0; p < producers; p++) {
+            assertEquals(published.get(p), written.get(p));
+            publishedCount += published.get(p).size();
+        }
+        assertEquals((long) producers * perProducer, publishedCount + ring.getDropped());
+        assertEquals(ring.getDropped(), droppedReported);
+    }
+
+    @Test
+    @DisplayName("문자열 값은 JSON 으로 이스케이프")
+    void escapesStrings() throws Exception {
+        GameEventRing ring = ring(4);
+        assertTrue(ring.publish("r\"1", GameEventType.ENTER, "user", "a\\b\nc\rd\te\u0001", "list", List.of("x", 1, true), "pieces", new int[]{1, 2}));
+        ring.start();
+        ring.stop();
+
+        String line = lines().get(0);
+        assertTrue(line.startsWith("{\"ts\":\""), line);
+        assertTrue(line.contains(",\"room\":\"r\\\"1\""), line);
+        assertTrue(line.contains(",\"event\":\"ENTER\""), line);
+        assertTrue(line.contains(",\"user\":\"a\\\\b\\nc\\rd\\te\\u0001\""), line);
+        assertTrue(line.endsWith(",\"list\":[\"x\",1,true],\"pieces\":[1,2]}"), line);
+    }
+
+    @Test
+    @DisplayName("샘플링이 0 인 종류는 넣지 않음")
+    void sampledOut() {
+        int[] sampleEvery = new int[GameEventType.values().length];
+        GameEventRing ring = new GameEventRing(4, sampleEvery, out);
+
+        assertFalse(ring.publish(null, GameEventType.ADD_PIECE, null, null, null, null, null, null));
+        assertEquals(0, ring.getDropped());
+    }
+}
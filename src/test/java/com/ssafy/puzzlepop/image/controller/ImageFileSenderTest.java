@@ -0,0 +1,225 @@
+package com.ssafy.puzzlepop.image.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageFileSenderTest {
+    private static final int LENGTH = 100;
+    private static final String ETAG = "\"abc123\"";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            content[i] = (byte) i;
+        }
+        file = dir.resolve("image.png");
+        Files.write(file, content);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ImageFileSender.send(request, response, file, MediaType.IMAGE_PNG, ETAG, LAST_MODIFIED, CACHE_CONTROL);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image/1");
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("Range 없으면 전체 파일과 검증 헤더")
+    void fullFile() throws Exception {
+        MockHttpServletResponse response = send(get(null, null));
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(LENGTH, response.getContentLengthLong());
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertEquals(MediaType.IMAGE_PNG_VALUE, response.getContentType());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("끝에서부터 N 바이트 (bytes=-N)")
+    void suffixRange() throws Exception {
+        MockHttpServletResponse response = send(get(HttpHeaders.RANGE, "bytes=-10"));
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 90-99/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(10, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, 90, 100), response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("파일보다 긴 끝 구간은 전체")
+    void suffixRangeLongerThanFile() throws Exception {
+        MockHttpServletResponse response = send(get(HttpHeaders.RANGE, "bytes=-500"));
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 0-99/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("끝이 없는 구간 (bytes=N-)")
+    void openEndedRange() throws Exception {
+        MockHttpServletResponse response = send(get(HttpHeaders.RANGE, "bytes=95-"));
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 95-99/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(5, response.getContentLengthLong());
+        assertArrayEquals(Arrays.copyOfRange(content, 95, 100), response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("닫힌 구간, 끝이 파일보다 길면 파일 끝까지")
+    void closedRange() throws Exception {
+        MockHttpServletResponse response = send(get(HttpHeaders.RANGE, "bytes=10-19"));
+        assertEquals("bytes 10-19/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), response.getContentAsByteArray());
+
+        response = send(get(HttpHeaders.RANGE, "bytes=98-1000"));
+        assertEquals("bytes 98-99/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(content, 98, 100), response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("파일 밖이거나 형식이 틀린 구간은 416")
+    void unsatisfiableRange() throws Exception {
+        for (String range : new String[]{"bytes=100-", "bytes=200-300", "bytes=abc"}) {
+            MockHttpServletResponse response = send(get(HttpHeaders.RANGE, range));
+
+            assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus(), range);
+            assertEquals("bytes */100", response.getHeader(HttpHeaders.CONTENT_RANGE), range);
+            assertEquals(0, response.getContentAsByteArray().length, range);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 구간 요청은 전체 파일")
+    void multipleRanges() throws Exception {
+        MockHttpServletResponse response = send(get(HttpHeaders.RANGE, "bytes=0-9,20-29"));
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("If-Range 가 현재 ETag 와 다르면 200 전체, 같으면 206")
+    void ifRange() throws Exception {
+        MockHttpServletRequest request = get(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(content, response.getContentAsByteArray());
+
+        request = get(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, ETAG);
+        response = send(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 10), response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("If-Range 날짜가 수정 시각과 다르면 200 전체")
+    void ifRangeDate() throws Exception {
+        MockHttpServletRequest request = get(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, LAST_MODIFIED - 60_000);
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 맞으면 304, 본문 없음")
+    void ifNoneMatch() throws Exception {
+        MockHttpServletResponse response = send(get(HttpHeaders.IF_NONE_MATCH, ETAG));
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        response = send(get(HttpHeaders.IF_NONE_MATCH, "\"other\""));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since 가 수정 시각 이후면 304")
+    void ifModifiedSince() throws Exception {
+        MockHttpServletRequest request = get(null, null);
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, send(request).getStatus());
+
+        request = get(null, null);
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED - 60_000);
+        assertEquals(HttpServletResponse.SC_OK, send(request).getStatus());
+    }
+
+    @Test
+    @DisplayName("HEAD 는 길이만")
+    void head() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/image/1");
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(LENGTH, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("sendfile 을 지원하면 본문 대신 톰캣에 구간만 넘김")
+    void sendfile() throws Exception {
+        MockHttpServletRequest request = get(HttpHeaders.RANGE, "bytes=10-19");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(20L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("파일이 없으면 404")
+    void missingFile() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ImageFileSender.send(get(null, null), response, dir.resolve("none.png"), MediaType.IMAGE_PNG, ETAG, LAST_MODIFIED, CACHE_CONTROL);
+
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, response.getStatus());
+    }
+}
@@ -0,0 +1,142 @@
+package com.ssafy.puzzlepop.record.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankIndexTest {
+
+    // 정렬한 목록과 비교 (점수 내림차순, 같으면 userId 내림차순)
+    private static List<Long> sorted(Map<Long, Double> scores) {
+        List<Long> userIds = new ArrayList<>(scores.keySet());
+        userIds.sort(Comparator.comparing((Long userId) -> scores.get(userId)).reversed()
+                .thenComparing(Comparator.reverseOrder()));
+        return userIds;
+    }
+
+    private static void assertSameOrder(Map<Long, Double> scores, RankIndex rankIndex) {
+        List<Long> expected = sorted(scores);
+        assertEquals(expected.size(), rankIndex.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            long userId = expected.get(i);
+            assertEquals(i + 1, rankIndex.rank(userId), "rank of " + userId);
+            assertEquals(expected.get(i), rankIndex.userAt(i + 1), "userAt " + (i + 1));
+            assertEquals((double) scores.get(userId), rankIndex.score(userId));
+        }
+        assertNull(rankIndex.userAt(0));
+        assertNull(rankIndex.userAt(expected.size() + 1));
+    }
+
+    @Test
+    @DisplayName("같은 점수는 userId 가 큰 쪽이 앞 순위")
+    void tiesByUserIdDesc() {
+        RankIndex rankIndex = new RankIndex();
+        rankIndex.put(1, 10);
+        rankIndex.put(5, 10);
+        rankIndex.put(3, 20);
+        rankIndex.put(9, 5);
+        rankIndex.put(7, 10);
+
+        assertEquals(1, rankIndex.rank(3));
+        assertEquals(2, rankIndex.rank(7));
+        assertEquals(3, rankIndex.rank(5));
+        assertEquals(4, rankIndex.rank(1));
+        assertEquals(5, rankIndex.rank(9));
+        assertEquals(List.of(3L, 7L, 5L, 1L, 9L), rankIndex.window(5, 10));
+    }
+
+    @Test
+    @DisplayName("이미 있는 유저의 점수를 바꾸면 자리만 옮김")
+    void updateExistingUser() {
+        RankIndex rankIndex = new RankIndex();
+        rankIndex.put(1, 1);
+        rankIndex.put(2, 2);
+        rankIndex.put(3, 3);
+
+        rankIndex.put(1, 5);
+        assertEquals(3, rankIndex.size());
+        assertEquals(1, rankIndex.rank(1));
+        assertEquals(3, rankIndex.rank(2));
+
+        // 같은 점수로 다시 넣어도 한 번만
+        rankIndex.put(1, 5);
+        assertEquals(3, rankIndex.size());
+        assertEquals(List.of(1L, 3L, 2L), rankIndex.window(3, 5));
+    }
+
+    @Test
+    @DisplayName("삭제, 없는 유저")
+    void remove() {
+        RankIndex rankIndex = new RankIndex();
+        rankIndex.put(1, 1);
+        rankIndex.put(2, 2);
+        rankIndex.put(3, 3);
+
+        rankIndex.remove(2);
+        rankIndex.remove(42);
+        assertEquals(2, rankIndex.size());
+        assertFalse(rankIndex.contains(2));
+        assertEquals(-1, rankIndex.rank(2));
+        assertEquals(2, rankIndex.rank(1));
+        assertEquals(List.of(), rankIndex.window(2, 3));
+        assertEquals(0, rankIndex.score(2));
+    }
+
+    @Test
+    @DisplayName("앞뒤 range 명, 양 끝에서는 있는 만큼만")
+    void window() {
+        RankIndex rankIndex = new RankIndex();
+        for (long userId = 1; userId <= 10; userId++) {
+            rankIndex.put(userId, userId * 10);
+        }
+
+        // 순위 : 10, 9, ..., 1
+        assertEquals(List.of(7L, 6L, 5L, 4L, 3L), rankIndex.window(5, 2));
+        assertEquals(List.of(10L, 9L, 8L), rankIndex.window(10, 2));
+        assertEquals(List.of(3L, 2L, 1L), rankIndex.window(1, 2));
+        assertEquals(List.of(5L), rankIndex.window(5, 0));
+    }
+
+    @Test
+    @DisplayName("무작위 등록, 점수 변경, 삭제 후에도 정렬한 목록과 같은 순위")
+    void randomAgainstSortedList() {
+        Random random = new Random(42);
+        RankIndex rankIndex = new RankIndex();
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (int step = 0; step < 5000; step++) {
+            long userId = random.nextInt(300);
+            int op = random.nextInt(10);
+            if (op < 7) {
+                // 점수 종류를 적게 해서 같은 점수가 많이 나오도록
+                double score = random.nextInt(20) * 2.5;
+                rankIndex.put(userId, score);
+                scores.put(userId, score);
+            } else {
+                rankIndex.remove(userId);
+                scores.remove(userId);
+            }
+
+            if (step % 250 == 0) {
+                assertSameOrder(scores, rankIndex);
+            }
+        }
+        assertSameOrder(scores, rankIndex);
+
+        List<Long> expected = sorted(scores);
+        for (int i = 0; i < expected.size(); i += 17) {
+            int range = random.nextInt(5);
+            List<Long> window = expected.subList(Math.max(0, i - range), Math.min(expected.size(), i + range + 1));
+            assertEquals(window, rankIndex.window(expected.get(i), range));
+        }
+    }
+}